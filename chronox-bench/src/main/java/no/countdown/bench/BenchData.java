@@ -0,0 +1,123 @@
+package no.countdown.bench;
+
+import no.countdown.model.CountdownTimer;
+import no.countdown.model.CountdownTimer.TimeUnit;
+import no.countdown.model.TimeSource;
+import no.countdown.model.TimerTable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deterministic timer sets shared by the benchmarks: the same names, classes and states
+ * for the current model, the legacy model and a {@link TimerTable}. Out of every 20
+ * timers, 14 are running, 3 paused, 2 finished and 1 reset. Deadlines are days to
+ * months out, so nothing finishes during a run.
+ */
+public final class BenchData {
+
+    public static final int CLASS_COUNT = 40;
+    /** Matches about one timer in eight by name */
+    public static final String SEARCH = "report";
+
+    private static final String[] WORDS = {
+            "report", "deploy", "review", "backup", "meeting", "invoice", "release", "training"
+    };
+    private static final TimeUnit[] UNITS = {TimeUnit.DAYS, TimeUnit.WEEKS, TimeUnit.MONTHS};
+
+    private BenchData() {}
+
+    public static String name(int i) {
+        return WORDS[i % WORDS.length] + " " + i;
+    }
+
+    public static String description(int i) {
+        return i % 3 == 0 ? "" : "note " + (i * 31 % 1000);
+    }
+
+    public static String className(int i) {
+        return i % 10 == 0 ? "" : "class-" + (i * 7 % CLASS_COUNT);
+    }
+
+    public static long amount(int i) {
+        return 1 + i % 12;
+    }
+
+    public static TimeUnit unit(int i) {
+        return UNITS[i % UNITS.length];
+    }
+
+    private enum Kind { RUNNING, PAUSED, FINISHED, RESET }
+
+    private static Kind kind(int i) {
+        int r = i % 20;
+        if (r < 14) return Kind.RUNNING;
+        if (r < 17) return Kind.PAUSED;
+        if (r < 19) return Kind.FINISHED;
+        return Kind.RESET;
+    }
+
+    public static List<CountdownTimer> timers(int n, TimeSource clock) {
+        List<CountdownTimer> timers = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            CountdownTimer t = new CountdownTimer(name(i), description(i), className(i), clock);
+            switch (kind(i)) {
+                case RUNNING -> t.startCountdown(amount(i), unit(i));
+                case PAUSED -> {
+                    t.startCountdown(amount(i), unit(i));
+                    t.pause();
+                }
+                case FINISHED -> t.restoreFinished(amount(i), unit(i), amount(i) * 86400);
+                case RESET -> {
+                    t.startCountdown(amount(i), unit(i));
+                    t.reset();
+                }
+            }
+            t.setId(i + 1);
+            timers.add(t);
+        }
+        return timers;
+    }
+
+    public static List<LegacyCountdownTimer> legacyTimers(int n) {
+        List<LegacyCountdownTimer> timers = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            LegacyCountdownTimer t = new LegacyCountdownTimer(name(i), description(i), className(i));
+            switch (kind(i)) {
+                case RUNNING -> t.startCountdown(amount(i), unit(i));
+                case PAUSED -> {
+                    t.startCountdown(amount(i), unit(i));
+                    t.pause();
+                }
+                case FINISHED -> t.restoreFinished(amount(i), unit(i), amount(i) * 86400);
+                case RESET -> {
+                    t.startCountdown(amount(i), unit(i));
+                    t.reset();
+                }
+            }
+            timers.add(t);
+        }
+        return timers;
+    }
+
+    public static TimerTable table(int n, TimeSource clock) {
+        TimerTable table = new TimerTable(clock, n);
+        for (int i = 0; i < n; i++) {
+            int h = table.add(name(i), description(i), className(i));
+            switch (kind(i)) {
+                case RUNNING -> table.start(h, amount(i), unit(i));
+                case PAUSED -> {
+                    table.start(h, amount(i), unit(i));
+                    table.pause(h);
+                }
+                case FINISHED -> table.restoreFinished(h, amount(i), unit(i), amount(i) * 86400);
+                case RESET -> {
+                    table.start(h, amount(i), unit(i));
+                    table.reset(h);
+                }
+            }
+            table.setId(h, i + 1);
+        }
+        return table;
+    }
+}
@@ -0,0 +1,167 @@
+package no.countdown.bench;
+
+import javafx.scene.paint.Color;
+import no.countdown.model.CountdownTimer.TimeUnit;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * The original controller's hot paths, copied from before the rework with the UI node
+ * work stripped out, as baselines for the benchmarks.
+ */
+public final class Legacy {
+
+    private Legacy() {}
+
+    /**
+     * rebuildTimerList's filter and sort: finished first, then class, then list position.
+     * The original looked the position up with {@code timers.indexOf(t)} inside the
+     * comparator; that is an identity map here, or the 100k case would take minutes.
+     */
+    public static List<LegacyCountdownTimer> rebuild(List<LegacyCountdownTimer> timers, String classFilter, String searchQuery) {
+        Map<LegacyCountdownTimer, Integer> position = new IdentityHashMap<>();
+        for (int i = 0; i < timers.size(); i++) position.put(timers.get(i), i);
+        return timers.stream()
+                .filter(t -> {
+                    if (classFilter != null && !classFilter.equals(t.getClassName())) return false;
+                    if (!searchQuery.isEmpty()) {
+                        String name = t.getThemeName() != null ? t.getThemeName().toLowerCase() : "";
+                        String desc = t.getDescription() != null ? t.getDescription().toLowerCase() : "";
+                        String cls = t.getClassName() != null ? t.getClassName().toLowerCase() : "";
+                        return name.contains(searchQuery) || desc.contains(searchQuery) || cls.contains(searchQuery);
+                    }
+                    return true;
+                })
+                .sorted(Comparator
+                        .comparing((LegacyCountdownTimer t) -> !t.isFinished())
+                        .thenComparing(t -> {
+                            String cn = t.getClassName();
+                            return (cn == null || cn.isEmpty()) ? "" : cn;
+                        })
+                        .thenComparing(position::get))
+                .collect(Collectors.toList());
+    }
+
+    /** refreshCards' per-card time text */
+    public static String timeText(LegacyCountdownTimer t) {
+        String timeText;
+        if (t.isFinished()) {
+            timeText = "Time's Up!";
+        } else if (t.isRunning() || t.isPaused()) {
+            long total = t.getRemainingSeconds();
+            long d = total / 86400, h = (total % 86400) / 3600, m = (total % 3600) / 60, s = total % 60;
+            if (d > 0) timeText = String.format("%dd %dh %dm %ds", d, h, m, s);
+            else if (h > 0) timeText = String.format("%dh %dm %ds", h, m, s);
+            else timeText = String.format("%dm %ds", m, s);
+            if (t.isPaused()) timeText += " (paused)";
+        } else {
+            timeText = "Not started";
+        }
+        return timeText;
+    }
+
+    /** classColor, recomputed for every card on every rebuild */
+    public static String classColor(String className) {
+        int hash = className.hashCode();
+        double hue = Math.abs(hash % 360);
+        double sat = 0.65 + (Math.abs((hash >> 8) % 20)) / 100.0;
+        double bri = 0.75 + (Math.abs((hash >> 16) % 15)) / 100.0;
+        Color color = Color.hsb(hue, sat, bri);
+        return String.format("#%02x%02x%02x",
+                (int)(color.getRed() * 255),
+                (int)(color.getGreen() * 255),
+                (int)(color.getBlue() * 255));
+    }
+
+    /** saveTimers: every timer as a key=value block, written in one go */
+    public static void save(List<LegacyCountdownTimer> timers, Path file) throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (LegacyCountdownTimer t : timers) {
+            lines.add("name=" + t.getThemeName());
+            lines.add("description=" + t.getDescription());
+            lines.add("className=" + t.getClassName());
+            lines.add("originalAmount=" + t.getOriginalAmount());
+            lines.add("originalUnit=" + (t.getOriginalUnit() != null ? t.getOriginalUnit().name() : ""));
+            lines.add("totalSeconds=" + t.getTotalSeconds());
+            if (t.isRunning() && t.targetTimeProperty().get() != null) {
+                lines.add("state=running");
+                lines.add("targetTime=" + t.targetTimeProperty().get().toString());
+            } else if (t.isPaused()) {
+                lines.add("state=paused");
+                lines.add("remainingSeconds=" + t.getRemainingSeconds());
+            } else if (t.isFinished()) {
+                lines.add("state=finished");
+            } else {
+                lines.add("state=idle");
+            }
+            lines.add("---");
+        }
+        Files.write(file, lines);
+    }
+
+    /** loadTimers: read every line, parse each block into a map, restore a timer from it */
+    public static List<LegacyCountdownTimer> load(Path file) throws IOException {
+        List<LegacyCountdownTimer> timers = new ArrayList<>();
+        List<String> lines = Files.readAllLines(file);
+        Map<String, String> block = new HashMap<>();
+        for (String line : lines) {
+            if (line.equals("---")) {
+                if (!block.isEmpty()) {
+                    restoreTimer(block, timers);
+                    block.clear();
+                }
+            } else {
+                int eq = line.indexOf('=');
+                if (eq > 0) {
+                    block.put(line.substring(0, eq), line.substring(eq + 1));
+                }
+            }
+        }
+        if (!block.isEmpty()) restoreTimer(block, timers);
+        return timers;
+    }
+
+    private static void restoreTimer(Map<String, String> data, List<LegacyCountdownTimer> timers) {
+        String name = data.getOrDefault("name", "");
+        String desc = data.getOrDefault("description", "");
+        String cls = data.getOrDefault("className", "");
+        String unitStr = data.getOrDefault("originalUnit", "");
+        String state = data.getOrDefault("state", "idle");
+        long amount = 0;
+        long totalSec = 0;
+        try { amount = Long.parseLong(data.getOrDefault("originalAmount", "0")); } catch (NumberFormatException ignored) {}
+        try { totalSec = Long.parseLong(data.getOrDefault("totalSeconds", "0")); } catch (NumberFormatException ignored) {}
+
+        if (name.isEmpty() || unitStr.isEmpty()) return;
+
+        TimeUnit unit;
+        try { unit = TimeUnit.valueOf(unitStr); } catch (IllegalArgumentException e) { return; }
+
+        LegacyCountdownTimer timer = new LegacyCountdownTimer(name, desc, cls);
+
+        switch (state) {
+            case "running" -> {
+                String targetStr = data.getOrDefault("targetTime", "");
+                if (targetStr.isEmpty()) return;
+                timer.restoreRunning(amount, unit, totalSec, LocalDateTime.parse(targetStr));
+            }
+            case "paused" -> {
+                long remaining = 0;
+                try { remaining = Long.parseLong(data.getOrDefault("remainingSeconds", "0")); } catch (NumberFormatException ignored) {}
+                timer.restorePaused(amount, unit, totalSec, remaining);
+            }
+            default -> timer.restoreFinished(amount, unit, totalSec);
+        }
+        timers.add(timer);
+    }
+}
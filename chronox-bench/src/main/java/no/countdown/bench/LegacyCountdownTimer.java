@@ -1,19 +1,17 @@
-package no.countdown.model;
+package no.countdown.bench;
 
 import javafx.beans.property.*;
+import no.countdown.model.CountdownTimer.TimeUnit;
+
 import java.time.Duration;
 import java.time.LocalDateTime;
 
-public class CountdownTimer {
-
-    public enum TimeUnit {
-        MINUTES, HOURS, DAYS, WEEKS, MONTHS;
-
-        @Override
-        public String toString() {
-            return name().charAt(0) + name().substring(1).toLowerCase();
-        }
-    }
+/**
+ * The timer model as it was before the engine rework: seven JavaFX properties per timer
+ * and a wall-clock read per update. Kept verbatim as the baseline the benchmarks
+ * compare against; not used by the app.
+ */
+public class LegacyCountdownTimer {
 
     private final StringProperty themeName = new SimpleStringProperty("");
     private final StringProperty description = new SimpleStringProperty("");
@@ -28,12 +26,12 @@ public class CountdownTimer {
     private TimeUnit originalUnit;
     private long totalSeconds;
 
-    public CountdownTimer(String themeName, String description) {
+    public LegacyCountdownTimer(String themeName, String description) {
         this.themeName.set(themeName);
         this.description.set(description);
     }
 
-    public CountdownTimer(String themeName, String description, String className) {
+    public LegacyCountdownTimer(String themeName, String description, String className) {
         this.themeName.set(themeName);
         this.description.set(description);
         this.className.set(className != null ? className : "");
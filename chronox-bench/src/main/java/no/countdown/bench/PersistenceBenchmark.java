@@ -0,0 +1,102 @@
+package no.countdown.bench;
+
+import no.countdown.model.CountdownTimer;
+import no.countdown.model.TimeSource;
+import no.countdown.persistence.TimerBinaryFormat;
+import no.countdown.persistence.TimerRecord;
+import no.countdown.persistence.TimerTextFormat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** Save every timer to a file and load them all back as timers */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PersistenceBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int timers;
+
+    private final TimeSource clock = TimeSource.system();
+    private List<LegacyCountdownTimer> legacy;
+    private List<CountdownTimer> current;
+    private Path dir;
+
+    @Setup
+    public void setup() throws IOException {
+        legacy = BenchData.legacyTimers(timers);
+        current = BenchData.timers(timers, clock);
+        dir = Files.createTempDirectory("chronox-bench");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (var files = Files.list(dir)) {
+            for (Path f : (Iterable<Path>) files::iterator) Files.delete(f);
+        }
+        Files.delete(dir);
+    }
+
+    /** Baseline: saveTimers' line list and loadTimers' per-block maps */
+    @Benchmark
+    public int legacyRoundTrip() throws IOException {
+        Path file = dir.resolve("legacy.txt");
+        Legacy.save(legacy, file);
+        return Legacy.load(file).size();
+    }
+
+    @Benchmark
+    public int textRoundTrip() throws IOException {
+        Path file = dir.resolve("timers.snapshot");
+        try (Writer out = Files.newBufferedWriter(file)) {
+            TimerTextFormat.write(snapshot(), out);
+        }
+        try (BufferedReader in = Files.newBufferedReader(file)) {
+            return restore(TimerTextFormat.read(in, file.toString())).size();
+        }
+    }
+
+    @Benchmark
+    public int binaryRoundTrip() throws IOException {
+        Path file = dir.resolve("timers.bin");
+        TimerBinaryFormat.write(snapshot(), 0, file);
+        List<TimerRecord> records = new ArrayList<>(timers);
+        TimerBinaryFormat.read(file, records);
+        return restore(records).size();
+    }
+
+    private List<TimerRecord> snapshot() {
+        List<TimerRecord> records = new ArrayList<>(current.size());
+        for (CountdownTimer t : current) records.add(TimerRecord.of(t));
+        return records;
+    }
+
+    /** As the controller restores timers at startup */
+    private List<CountdownTimer> restore(List<TimerRecord> records) {
+        List<CountdownTimer> restored = new ArrayList<>(records.size());
+        for (TimerRecord r : records) restored.add(r.toTimer(clock));
+        return restored;
+    }
+}
@@ -0,0 +1,73 @@
+package no.countdown.bench;
+
+import no.countdown.model.CountdownTimer;
+import no.countdown.model.TimeSource;
+import no.countdown.model.TimerTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** One display tick's worth of remaining-time updates over every timer */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UpdateRemainingBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int timers;
+
+    private final TimeSource clock = TimeSource.system();
+    private List<LegacyCountdownTimer> legacy;
+    private List<CountdownTimer> current;
+    private TimerTable table;
+
+    @Setup
+    public void setup() {
+        legacy = BenchData.legacyTimers(timers);
+        current = BenchData.timers(timers, clock);
+        table = BenchData.table(timers, clock);
+    }
+
+    /** Baseline: a wall-clock read and a Duration per timer, written through properties */
+    @Benchmark
+    public long legacyUpdateRemaining() {
+        long sum = 0;
+        for (LegacyCountdownTimer t : legacy) {
+            t.updateRemaining();
+            sum += t.getRemainingSeconds();
+        }
+        return sum;
+    }
+
+    /** One monotonic clock read for the whole pass */
+    @Benchmark
+    public long updateRemaining() {
+        long now = clock.nanoTime();
+        long sum = 0;
+        for (CountdownTimer t : current) {
+            t.updateRemaining(now);
+            sum += t.getRemainingSeconds();
+        }
+        return sum;
+    }
+
+    /** The same pass over the columnar store */
+    @Benchmark
+    public int tableSweep() {
+        return table.sweep(clock.nanoTime(), h -> { });
+    }
+}
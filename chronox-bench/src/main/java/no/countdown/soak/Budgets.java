@@ -0,0 +1,53 @@
+package no.countdown.soak;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Limits a soak run must stay within, read from {@code -Dchronox.soak.budget.<name>}
+ * system properties; the defaults are deliberately loose, for CI to tighten.
+ */
+record Budgets(double tickP99Ms, double tickMaxMs, double latenessP99Ms,
+               double allocMBPerSec, double heapPeakMB, double saveMs, double loadMs) {
+
+    static final String PREFIX = "chronox.soak.budget.";
+
+    static Budgets fromSystemProperties() {
+        return new Budgets(
+                budget("tickP99Ms", 50),
+                budget("tickMaxMs", 2000),
+                budget("latenessP99Ms", 100),
+                budget("allocMBPerSec", 4096),
+                budget("heapPeakMB", 3072),
+                budget("saveMs", 10_000),
+                budget("loadMs", 10_000));
+    }
+
+    /** One line per exceeded budget; empty if the report is within every one */
+    List<String> violations(SoakReport r) {
+        List<String> out = new ArrayList<>();
+        check(out, "tick p99", r.tickP99Ms(), tickP99Ms, "ms");
+        check(out, "tick max", r.tickMaxMs(), tickMaxMs, "ms");
+        check(out, "lateness p99", r.latenessP99Ms(), latenessP99Ms, "ms");
+        check(out, "allocation", r.allocMBPerSec(), allocMBPerSec, "MB/s");
+        check(out, "heap peak", r.heapPeakMB(), heapPeakMB, "MB");
+        check(out, "save", r.saveMs(), saveMs, "ms");
+        check(out, "load", r.loadMs(), loadMs, "ms");
+        return out;
+    }
+
+    private static void check(List<String> out, String name, double value, double limit, String unit) {
+        if (value > limit) out.add(String.format("%s %.2f %s > %.2f %s", name, value, unit, limit, unit));
+    }
+
+    private static double budget(String name, double fallback) {
+        String value = System.getProperty(PREFIX + name);
+        if (value == null) return fallback;
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException ex) {
+            System.err.println("[ChronoX] Ignoring budget " + PREFIX + name + "=" + value + ": not a number");
+            return fallback;
+        }
+    }
+}
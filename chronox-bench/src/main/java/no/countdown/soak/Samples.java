@@ -0,0 +1,36 @@
+package no.countdown.soak;
+
+import java.util.Arrays;
+
+/** Every sample of one measurement, kept in full so percentiles are exact */
+final class Samples {
+
+    private long[] values = new long[1024];
+    private int size;
+    private boolean sorted = true;
+
+    void add(long value) {
+        if (size == values.length) values = Arrays.copyOf(values, size * 2);
+        values[size++] = value;
+        sorted = false;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /** The value below which the given fraction (0..1) of samples fall; 0 when empty */
+    long percentile(double fraction) {
+        if (size == 0) return 0;
+        if (!sorted) {
+            Arrays.sort(values, 0, size);
+            sorted = true;
+        }
+        int rank = (int) Math.ceil(fraction * size);
+        return values[Math.max(0, Math.min(size, rank) - 1)];
+    }
+
+    long max() {
+        return percentile(1.0);
+    }
+}
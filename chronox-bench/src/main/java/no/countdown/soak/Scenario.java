@@ -0,0 +1,101 @@
+package no.countdown.soak;
+
+import no.countdown.model.CountdownTimer;
+import no.countdown.model.CountdownTimer.TimeUnit;
+
+import static no.countdown.soak.Simulation.SECOND;
+
+/**
+ * The replayed workloads. Timer counts are multiplied by {@code -Dchronox.soak.scale}
+ * (default 1), so CI can run the same shapes smaller.
+ */
+enum Scenario {
+
+    /** A million timers due one after another, a dozen per second, over a day */
+    STAGGERED("staggered", 1_000_000, 25 * 3600) {
+        @Override
+        void populate(Simulation sim, int timers) {
+            // Created over a minute, so deadlines land on every second, not only on whole minutes
+            for (int wave = 0; wave < 60; wave++) {
+                for (int i = wave; i < timers; i += 60) {
+                    sim.add("staggered " + i, "class-" + i % 40, 1 + i % 1440, TimeUnit.MINUTES);
+                }
+                sim.clock.advanceNanos(SECOND);
+            }
+        }
+    },
+
+    /** Five thousand timers due in the same instant, every minute */
+    STORM("storm", 100_000, 25 * 60) {
+        @Override
+        void populate(Simulation sim, int timers) {
+            int group = Math.max(1, timers / 20);
+            for (int i = 0; i < timers; i++) {
+                sim.add("storm " + i, "class-" + i % 40, 1 + i / group, TimeUnit.MINUTES);
+            }
+        }
+    },
+
+    /** Every timer paused for a minute, then resumed, every ten minutes */
+    PAUSE_RESUME("pause-resume", 200_000, 6 * 3600) {
+        @Override
+        void populate(Simulation sim, int timers) {
+            for (int i = 0; i < timers; i++) {
+                sim.add("pause " + i, "class-" + i % 40, 1 + i % 48, TimeUnit.HOURS);
+            }
+        }
+
+        @Override
+        void everySecond(Simulation sim, long second) {
+            if (second % 600 == 0) {
+                for (CountdownTimer t : sim.timers) sim.pause(t);
+            } else if (second % 600 == 60) {
+                for (CountdownTimer t : sim.timers) sim.resume(t);
+            }
+        }
+    },
+
+    /** Two weeks of recurring day- and week-long timers, restarted hourly and saved daily */
+    MULTI_DAY("multi-day", 100_000, 14 * 86400) {
+        @Override
+        void populate(Simulation sim, int timers) {
+            for (int i = 0; i < timers; i++) {
+                TimeUnit unit = i % 4 == 0 ? TimeUnit.WEEKS : TimeUnit.DAYS;
+                sim.add("recurring " + i, "class-" + i % 40, 1 + i % 3, unit);
+            }
+        }
+
+        @Override
+        void everySecond(Simulation sim, long second) {
+            if (second % 3600 == 0) {
+                for (CountdownTimer t : sim.timers) {
+                    if (t.isFinished()) sim.restart(t);
+                }
+            }
+            if (second % 86400 == 0) sim.saveAndLoad();
+        }
+    };
+
+    final String id;
+    final int baseTimers;
+    final long simulatedSeconds;
+
+    Scenario(String id, int baseTimers, long simulatedSeconds) {
+        this.id = id;
+        this.baseTimers = baseTimers;
+        this.simulatedSeconds = simulatedSeconds;
+    }
+
+    abstract void populate(Simulation sim, int timers);
+
+    /** Called once per simulated second, as a user action, with the whole seconds elapsed since the run started */
+    void everySecond(Simulation sim, long second) {
+    }
+
+    static Scenario byId(String id) {
+        for (Scenario s : values()) {
+            if (s.id.equals(id)) return s;
+        }
+        throw new IllegalArgumentException("Unknown scenario: " + id);
+    }
+}
@@ -0,0 +1,194 @@
+package no.countdown.soak;
+
+import no.countdown.engine.TickScheduler;
+import no.countdown.engine.VirtualWakeupSource;
+import no.countdown.model.CountdownTimer;
+import no.countdown.model.CountdownTimer.TimeUnit;
+import no.countdown.model.VirtualTimeSource;
+import no.countdown.persistence.TimerJournal.Op;
+import no.countdown.persistence.TimerRecord;
+import no.countdown.persistence.TimerStore;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.LongConsumer;
+
+/**
+ * The real {@link TickScheduler} and persistence on a virtual clock. Wake-ups come from a
+ * {@link VirtualWakeupSource}, so time jumps straight to the next expiry or tick; the
+ * driving thread plays the FX thread, and the listener does what the controller does:
+ * journal each expiry batch and refresh the visible cards.
+ *
+ * <p>Tick latency is the real time each display tick keeps the owner thread busy. Expiry
+ * lateness is how far past its deadline, in real time from the wake-up, each timer was
+ * handed to the listener: what a storm of timers due at once costs the last of them.
+ * Scenario actions and compactions run as separate owner tasks, outside both measures.
+ */
+final class Simulation {
+
+    static final long SECOND = 1_000_000_000L;
+    static final Instant START = Instant.parse("2026-01-01T00:00:00Z");
+    /** Cards on screen, refreshed every tick */
+    private static final int VISIBLE = 100;
+
+    final VirtualTimeSource clock = new VirtualTimeSource(START);
+    final List<CountdownTimer> timers = new ArrayList<>();
+    private final VirtualWakeupSource wakeups = new VirtualWakeupSource(clock);
+    private final TickScheduler scheduler;
+    private final Queue<Runnable> ownerTasks = new ConcurrentLinkedQueue<>();
+    private final Path dir;
+    private final TimerStore store;
+
+    final Samples tickNanos = new Samples();
+    final Samples latenessNanos = new Samples();
+    final Samples saveNanos = new Samples();
+    final Samples loadNanos = new Samples();
+    private long expired = 0;
+    private long taskStart; // real time the current owner task started
+    private boolean ticked;
+
+    Simulation(Path dir) {
+        this.dir = dir;
+        this.store = new TimerStore(dir, this::snapshot, ownerTasks::add);
+        this.scheduler = new TickScheduler(new TickScheduler.TickListener() {
+            @Override
+            public void onTimersExpired(List<CountdownTimer> batch, boolean opened) {
+                long now = clock.nanoTime();
+                long realDelay = System.nanoTime() - taskStart;
+                for (CountdownTimer timer : batch) latenessNanos.add((now - timer.getDeadlineNanos()) + realDelay);
+                expired += batch.size();
+            }
+
+            @Override
+            public void onExpiryBatch(List<CountdownTimer> batch) {
+                for (CountdownTimer timer : batch) store.append(Op.FINISH, TimerRecord.of(timer));
+            }
+
+            @Override
+            public void onTick(long nowNanos) {
+                ticked = true;
+                for (int i = 0, n = Math.min(VISIBLE, timers.size()); i < n; i++) timers.get(i).updateRemaining(nowNanos);
+            }
+        }, clock, this::runOnOwner, wakeups);
+    }
+
+    /** Create, start and schedule a timer without journaling it; call {@link #save} once after a bulk import */
+    CountdownTimer add(String name, String className, long amount, TimeUnit unit) {
+        CountdownTimer timer = new CountdownTimer(name, "", className, clock);
+        timer.setId(store.nextId());
+        timer.startCountdown(amount, unit);
+        scheduler.schedule(timer);
+        timers.add(timer);
+        return timer;
+    }
+
+    void pause(CountdownTimer timer) {
+        if (!timer.isRunning()) return;
+        timer.pause();
+        scheduler.schedule(timer);
+        store.append(Op.PAUSE, TimerRecord.of(timer));
+    }
+
+    void resume(CountdownTimer timer) {
+        if (!timer.isPaused()) return;
+        timer.resume();
+        scheduler.schedule(timer);
+        store.append(Op.RESUME, TimerRecord.of(timer));
+    }
+
+    void restart(CountdownTimer timer) {
+        timer.restart();
+        scheduler.schedule(timer);
+        store.append(Op.RESTART, TimerRecord.of(timer));
+    }
+
+    /**
+     * Run for {@code durationNanos} of virtual time. {@code everySecond} is called at each
+     * whole second since the run started, as its own owner task, like a user action.
+     */
+    void run(long durationNanos, LongConsumer everySecond) {
+        long start = clock.nanoTime();
+        long end = start + durationNanos;
+        userSecond(start, 1, end, everySecond);
+        while (wakeups.runNext(end)) {
+            Runnable task;
+            while ((task = ownerTasks.poll()) != null) task.run(); // e.g. journal compaction
+        }
+        if (end > clock.nanoTime()) clock.advanceNanos(end - clock.nanoTime());
+    }
+
+    /** Write a full snapshot, then read it back into fresh timers as startup does */
+    void save() {
+        long start = System.nanoTime();
+        store.flush();
+        saveNanos.add(System.nanoTime() - start);
+    }
+
+    void saveAndLoad() {
+        save();
+        long start = System.nanoTime();
+        TimerStore reader = new TimerStore(dir, () -> null, Runnable::run);
+        List<CountdownTimer> restored = new ArrayList<>();
+        for (TimerRecord r : reader.load()) restored.add(r.toTimer(clock));
+        reader.close();
+        loadNanos.add(System.nanoTime() - start);
+        if (restored.size() != timers.size()) {
+            throw new IllegalStateException("loaded " + restored.size() + " of " + timers.size() + " timers");
+        }
+    }
+
+    long getExpired() {
+        return expired;
+    }
+
+    void close() {
+        scheduler.stop();
+        store.close();
+    }
+
+    /** Forget the heap's high-water mark, so the next reading covers only what follows */
+    static void resetHeapPeak() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) pool.resetPeakUsage();
+        }
+    }
+
+    /** Sum of each heap pool's peak since the last reset, an upper bound on the heap in use */
+    static long heapPeakBytes() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) peak += pool.getPeakUsage().getUsed();
+        }
+        return peak;
+    }
+
+    private void userSecond(long start, long second, long end, LongConsumer everySecond) {
+        long at = start + second * SECOND;
+        if (at > end) return;
+        wakeups.schedule(() -> {
+            everySecond.accept(second);
+            userSecond(start, second + 1, end, everySecond);
+        }, at - clock.nanoTime());
+    }
+
+    /** The owner executor: runs each hand-over inline, timing the ones that were display ticks */
+    private void runOnOwner(Runnable task) {
+        taskStart = System.nanoTime();
+        ticked = false;
+        task.run();
+        if (ticked) tickNanos.add(System.nanoTime() - taskStart);
+    }
+
+    private List<TimerRecord> snapshot() {
+        List<TimerRecord> records = new ArrayList<>(timers.size());
+        for (CountdownTimer timer : timers) records.add(TimerRecord.of(timer));
+        return records;
+    }
+}
@@ -0,0 +1,22 @@
+package no.countdown.soak;
+
+/** What one scenario measured; times are real (wall) time, not simulated time */
+record SoakReport(String scenario, int timers, long simulatedSeconds, double realSeconds, long expired,
+                  double tickP50Ms, double tickP99Ms, double tickMaxMs,
+                  double latenessP50Ms, double latenessP99Ms, double latenessMaxMs,
+                  double allocMBPerSec, double heapPeakMB, double saveMs, double loadMs) {
+
+    @Override
+    public String toString() {
+        return String.format("""
+                %s: %d timers, %d s simulated in %.1f s, %d expired
+                  tick      p50=%.3fms p99=%.3fms max=%.3fms
+                  lateness  p50=%.3fms p99=%.3fms max=%.3fms
+                  alloc     %.1f MB/s, heap peak %.0f MB
+                  save      %.1f ms (max), load %.1f ms (max)""",
+                scenario, timers, simulatedSeconds, realSeconds, expired,
+                tickP50Ms, tickP99Ms, tickMaxMs,
+                latenessP50Ms, latenessP99Ms, latenessMaxMs,
+                allocMBPerSec, heapPeakMB, saveMs, loadMs);
+    }
+}
@@ -0,0 +1,82 @@
+package no.countdown.soak;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Replays {@link Scenario}s headlessly on a virtual clock and fails the run when any
+ * measurement exceeds its {@link Budgets budget}.
+ *
+ * <pre>
+ * java -Xmx4g -cp chronox-bench/target/benchmarks.jar no.countdown.soak.SoakRunner [scenario ...]
+ * </pre>
+ *
+ * With no arguments every scenario runs. Exits with status 1 if any budget was exceeded.
+ */
+public final class SoakRunner {
+
+    static final String SCALE_PROPERTY = "chronox.soak.scale";
+
+    private SoakRunner() {}
+
+    public static void main(String[] args) throws IOException {
+        List<Scenario> scenarios = new ArrayList<>();
+        if (args.length == 0) scenarios.addAll(List.of(Scenario.values()));
+        for (String arg : args) scenarios.add(Scenario.byId(arg));
+        double scale = Double.parseDouble(System.getProperty(SCALE_PROPERTY, "1"));
+        Budgets budgets = Budgets.fromSystemProperties();
+
+        boolean failed = false;
+        for (Scenario scenario : scenarios) {
+            SoakReport report = run(scenario, Math.max(1, (int) (scenario.baseTimers * scale)));
+            System.out.println("[ChronoX] Soak " + report);
+            for (String violation : budgets.violations(report)) {
+                System.err.println("[ChronoX] Soak " + scenario.id + " over budget: " + violation);
+                failed = true;
+            }
+        }
+        System.out.println(failed ? "[ChronoX] Soak FAILED" : "[ChronoX] Soak passed");
+        if (failed) System.exit(1);
+    }
+
+    static SoakReport run(Scenario scenario, int timers) throws IOException {
+        Path dir = Files.createTempDirectory("chronox-soak");
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        try {
+            System.gc();
+            Simulation.resetHeapPeak();
+            long allocatedBefore = threads.getThreadAllocatedBytes(thread);
+            long start = System.nanoTime();
+
+            Simulation sim = new Simulation(dir);
+            scenario.populate(sim, timers);
+            sim.save();
+            sim.run(scenario.simulatedSeconds * Simulation.SECOND, second -> scenario.everySecond(sim, second));
+            sim.saveAndLoad();
+            sim.close();
+
+            double realSeconds = (System.nanoTime() - start) / 1e9;
+            double allocatedMB = (threads.getThreadAllocatedBytes(thread) - allocatedBefore) / 1e6;
+            return new SoakReport(scenario.id, timers, scenario.simulatedSeconds, realSeconds, sim.getExpired(),
+                    ms(sim.tickNanos.percentile(0.50)), ms(sim.tickNanos.percentile(0.99)), ms(sim.tickNanos.max()),
+                    ms(sim.latenessNanos.percentile(0.50)), ms(sim.latenessNanos.percentile(0.99)), ms(sim.latenessNanos.max()),
+                    allocatedMB / realSeconds, Simulation.heapPeakBytes() / 1e6,
+                    ms(sim.saveNanos.max()), ms(sim.loadNanos.max()));
+        } finally {
+            try (Stream<Path> files = Files.walk(dir)) {
+                for (Path p : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) Files.delete(p);
+            }
+        }
+    }
+
+    private static double ms(long nanos) {
+        return nanos / 1e6;
+    }
+}
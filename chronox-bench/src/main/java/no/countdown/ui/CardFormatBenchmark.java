@@ -0,0 +1,59 @@
+package no.countdown.ui;
+
+import no.countdown.bench.BenchData;
+import no.countdown.bench.Legacy;
+import no.countdown.bench.LegacyCountdownTimer;
+import no.countdown.model.CountdownTimer;
+import no.countdown.model.TimeSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** The time text of every card, as refreshCards produced it once per second */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CardFormatBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int timers;
+
+    private List<LegacyCountdownTimer> legacy;
+    private List<CountdownTimer> current;
+    private final DurationFormatter formatter = new DurationFormatter();
+
+    @Setup
+    public void setup() {
+        legacy = BenchData.legacyTimers(timers);
+        current = BenchData.timers(timers, TimeSource.system());
+    }
+
+    /** Baseline: String.format per card */
+    @Benchmark
+    public int legacyFormat() {
+        int chars = 0;
+        for (LegacyCountdownTimer t : legacy) chars += Legacy.timeText(t).length();
+        return chars;
+    }
+
+    @Benchmark
+    public int format() {
+        int chars = 0;
+        for (CountdownTimer t : current) chars += formatter.card(t).length();
+        return chars;
+    }
+}
@@ -0,0 +1,66 @@
+package no.countdown.ui;
+
+import no.countdown.bench.BenchData;
+import no.countdown.bench.Legacy;
+import no.countdown.model.CountdownTimer;
+import no.countdown.model.TimeSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** The class tag style of every card that has a class, as built on each list rebuild */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClassColorBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int timers;
+
+    private List<CountdownTimer> current;
+    private final ClassRegistry classes = new ClassRegistry();
+
+    @Setup
+    public void setup() {
+        current = BenchData.timers(timers, TimeSource.system());
+        for (CountdownTimer t : current) classes.add(t);
+    }
+
+    /** Baseline: HSB conversion and String.format per card */
+    @Benchmark
+    public int legacyClassColor() {
+        int chars = 0;
+        for (CountdownTimer t : current) {
+            String cn = t.getClassName();
+            if (cn.isEmpty()) continue;
+            String tagColor = Legacy.classColor(cn);
+            chars += ("-fx-background-color: " + tagColor + "33; -fx-text-fill: " + tagColor + ";").length();
+        }
+        return chars;
+    }
+
+    @Benchmark
+    public int classTagStyle() {
+        int chars = 0;
+        for (CountdownTimer t : current) {
+            String cn = t.getClassName();
+            if (cn.isEmpty()) continue;
+            chars += classes.tagStyle(cn).length();
+        }
+        return chars;
+    }
+}
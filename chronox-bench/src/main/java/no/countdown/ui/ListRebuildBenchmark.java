@@ -0,0 +1,83 @@
+package no.countdown.ui;
+
+import no.countdown.bench.BenchData;
+import no.countdown.bench.Legacy;
+import no.countdown.bench.LegacyCountdownTimer;
+import no.countdown.model.CountdownTimer;
+import no.countdown.model.TimeSource;
+import no.countdown.search.SearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filtering and ordering the timer list, as rebuildTimerList did on every change. Lives in
+ * the ui package to reach the package-private {@link TimerView}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListRebuildBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int timers;
+
+    private List<LegacyCountdownTimer> legacy;
+    private List<CountdownTimer> current;
+    private final TimerView view = new TimerView();
+    private final SearchIndex search = new SearchIndex();
+    private int next = 0;
+
+    @Setup
+    public void setup() {
+        legacy = BenchData.legacyTimers(timers);
+        current = BenchData.timers(timers, TimeSource.system());
+        view.addAll(current);
+        for (CountdownTimer t : current) search.add(t);
+    }
+
+    /** Baseline: lower-case every field, then sort everything that passes */
+    @Benchmark
+    public int legacyRebuild() {
+        return Legacy.rebuild(legacy, null, BenchData.SEARCH).size();
+    }
+
+    /** Full re-filter through the view, testing each timer against its cached search text */
+    @Benchmark
+    public int viewRefilter() {
+        view.setFilter(t -> search.matches(t, BenchData.SEARCH), null);
+        return view.getShown().size();
+    }
+
+    /** The search worker's path: trigram lookup, then only the hits are ordered */
+    @Benchmark
+    public int indexedRefilter() {
+        Set<CountdownTimer> hits = search.query(BenchData.SEARCH, null, () -> false);
+        view.setFilter(t -> search.matches(t, BenchData.SEARCH), hits);
+        return view.getShown().size();
+    }
+
+    /** What replaced a rebuild after an edit: reposition the one timer that changed */
+    @Benchmark
+    public int incrementalUpdate() {
+        CountdownTimer t = current.get(next++ % current.size());
+        t.setClassName(t.getClassName().isEmpty() ? "class-0" : "");
+        view.update(t);
+        return view.getShown().size();
+    }
+}
@@ -0,0 +1,6 @@
+module no.countdown.core {
+    exports no.countdown.engine;
+    exports no.countdown.model;
+    exports no.countdown.persistence;
+    exports no.countdown.search;
+}
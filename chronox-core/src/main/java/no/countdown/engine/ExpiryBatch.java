@@ -0,0 +1,37 @@
+package no.countdown.engine;
+
+import no.countdown.model.CountdownTimer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects the timers that finish between two display ticks, so their side effects
+ * (alert, persistence, list update) run once per tick instead of once per timer.
+ */
+public class ExpiryBatch {
+
+    private List<CountdownTimer> pending = new ArrayList<>();
+
+    /** Add a finished timer; returns true if it opened a new batch */
+    public boolean add(CountdownTimer timer) {
+        boolean opened = pending.isEmpty();
+        pending.add(timer);
+        return opened;
+    }
+
+    public boolean isEmpty() {
+        return pending.isEmpty();
+    }
+
+    public int size() {
+        return pending.size();
+    }
+
+    /** Hand over the collected timers and start a new, empty batch */
+    public List<CountdownTimer> drain() {
+        List<CountdownTimer> drained = pending;
+        pending = new ArrayList<>();
+        return drained;
+    }
+}
@@ -0,0 +1,146 @@
+package no.countdown.engine;
+
+import no.countdown.model.CountdownTimer;
+import no.countdown.model.TimeSource;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Indexed binary min-heap of running timers keyed by deadline (monotonic nanos).
+ * Each entry remembers its heap slot, so rescheduling or cancelling a timer
+ * sifts it in place in O(log N) and only due timers are ever visited.
+ */
+public class ExpiryIndex {
+
+    private static final class Entry {
+        final CountdownTimer timer;
+        long deadline;
+        int slot;
+
+        Entry(CountdownTimer timer, long deadline) {
+            this.timer = timer;
+            this.deadline = deadline;
+        }
+    }
+
+    private final Map<CountdownTimer, Entry> entries = new HashMap<>();
+    private Entry[] heap = new Entry[16];
+    private int size;
+
+    /** Insert the timer, or move it to its new deadline if it is already indexed */
+    public void schedule(CountdownTimer timer, long deadline) {
+        Entry entry = entries.get(timer);
+        if (entry == null) {
+            entry = new Entry(timer, deadline);
+            entries.put(timer, entry);
+            if (size == heap.length) heap = Arrays.copyOf(heap, size * 2);
+            entry.slot = size;
+            heap[size++] = entry;
+            siftUp(entry.slot);
+            return;
+        }
+        long old = entry.deadline;
+        entry.deadline = deadline;
+        if (deadline < old) siftUp(entry.slot);
+        else if (deadline > old) siftDown(entry.slot);
+    }
+
+    public boolean cancel(CountdownTimer timer) {
+        Entry entry = entries.remove(timer);
+        if (entry == null) return false;
+        removeAt(entry.slot);
+        return true;
+    }
+
+    /**
+     * Move every deadline by {@code deltaNanos} and pass each timer to {@code action}, e.g.
+     * to shift its own deadline to match. A uniform shift keeps the heap order, so nothing sifts.
+     */
+    public void shiftAll(long deltaNanos, Consumer<CountdownTimer> action) {
+        for (int i = 0; i < size; i++) {
+            heap[i].deadline = TimeSource.saturatedAdd(heap[i].deadline, deltaNanos);
+            action.accept(heap[i].timer);
+        }
+    }
+
+    public boolean contains(CountdownTimer timer) {
+        return entries.containsKey(timer);
+    }
+
+    /** Earliest deadline in the index, or {@link Long#MAX_VALUE} when empty */
+    public long nextDeadline() {
+        return size == 0 ? Long.MAX_VALUE : heap[0].deadline;
+    }
+
+    /** Remove every timer whose deadline is at or before {@code now} and add it to {@code out} */
+    public int pollDue(long now, List<CountdownTimer> out) {
+        int polled = 0;
+        while (size > 0 && heap[0].deadline <= now) {
+            Entry head = heap[0];
+            entries.remove(head.timer);
+            removeAt(0);
+            out.add(head.timer);
+            polled++;
+        }
+        return polled;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(heap, 0, size, null);
+        size = 0;
+        entries.clear();
+    }
+
+    private void removeAt(int slot) {
+        Entry last = heap[--size];
+        heap[size] = null;
+        if (slot == size) return;
+        heap[slot] = last;
+        last.slot = slot;
+        siftDown(slot);
+        if (heap[slot] == last) siftUp(slot);
+    }
+
+    private void siftUp(int slot) {
+        Entry entry = heap[slot];
+        while (slot > 0) {
+            int parent = (slot - 1) >>> 1;
+            Entry p = heap[parent];
+            if (p.deadline <= entry.deadline) break;
+            heap[slot] = p;
+            p.slot = slot;
+            slot = parent;
+        }
+        heap[slot] = entry;
+        entry.slot = slot;
+    }
+
+    private void siftDown(int slot) {
+        Entry entry = heap[slot];
+        int half = size >>> 1;
+        while (slot < half) {
+            int child = 2 * slot + 1;
+            int right = child + 1;
+            if (right < size && heap[right].deadline < heap[child].deadline) child = right;
+            Entry c = heap[child];
+            if (entry.deadline <= c.deadline) break;
+            heap[slot] = c;
+            c.slot = slot;
+            slot = child;
+        }
+        heap[slot] = entry;
+        entry.slot = slot;
+    }
+}
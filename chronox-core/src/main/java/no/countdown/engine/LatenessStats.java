@@ -0,0 +1,57 @@
+package no.countdown.engine;
+
+/**
+ * Histogram of how late timers were detected as finished, in milliseconds past their
+ * deadline. Buckets are powers of two, so recording is a couple of shifts and the
+ * reported percentiles are upper bounds of the bucket they fall in.
+ */
+public class LatenessStats {
+
+    private static final int BUCKETS = 16; // 0, 1, 2-3, 4-7, ... 16384+
+
+    private final long[] counts = new long[BUCKETS];
+    private long count;
+    private long sum;
+    private long max;
+
+    public void record(long latenessMillis) {
+        long ms = Math.max(0, latenessMillis);
+        int bucket = ms == 0 ? 0 : Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(ms));
+        counts[bucket]++;
+        count++;
+        sum += ms;
+        if (ms > max) max = ms;
+    }
+
+    public long getCount() { return count; }
+    public long getMax() { return max; }
+
+    public double getMean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    /** Upper bound, in milliseconds, below which the given fraction (0..1) of samples fall */
+    public long percentile(double fraction) {
+        if (count == 0) return 0;
+        long rank = (long) Math.ceil(fraction * count);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) return i == 0 ? 0 : Math.min(max, (1L << i) - 1);
+        }
+        return max;
+    }
+
+    public void reset() {
+        java.util.Arrays.fill(counts, 0);
+        count = 0;
+        sum = 0;
+        max = 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("n=%d mean=%.1fms p50<=%dms p99<=%dms max=%dms",
+                count, getMean(), percentile(0.50), percentile(0.99), max);
+    }
+}
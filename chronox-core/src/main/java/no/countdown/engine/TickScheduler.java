@@ -0,0 +1,229 @@
+package no.countdown.engine;
+
+import no.countdown.model.CountdownTimer;
+import no.countdown.model.TimeSource;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives every running timer from one shared clock.
+ *
+ * <p>Expiry and display are armed separately. A one-shot wake-up is kept armed for the
+ * earliest deadline in the {@link ExpiryIndex}; it fires on the {@link WakeupSource} (a
+ * daemon thread, or a virtual clock in simulations) and hands over to the owner executor
+ * (Platform::runLater in the desktop app, any single-threaded executor headless), so a
+ * timer is finished within a few milliseconds of its target time. Display refresh is a second one-shot, re-armed for each whole-second boundary
+ * while any timer is running.
+ *
+ * <p>Every method, and every listener callback, runs on the owner thread.
+ *
+ * <p>Timers that finish between two display ticks are gathered in an {@link ExpiryBatch}
+ * and handed to the listener once at the next tick.
+ *
+ * <p>The clock is read once per expiry pass and once per tick, and that reading is handed
+ * to every timer; deadlines are monotonic, so wall-clock jumps do not move them. Each pass
+ * first {@linkplain TimeSource#resync() resyncs} the clock: after a suspend, which the
+ * monotonic clock does not count, every running deadline is moved back by the time slept,
+ * so timers still finish at their wall-clock target. The wake-up is re-armed at least every
+ * {@value #MAX_WAKEUP_MILLIS} ms so a suspend is noticed even while the display is suspended.
+ *
+ * <p>The display tick can be suspended, e.g. while the window is minimized; expiry keeps
+ * running and each batch is then handed over as soon as it is collected.
+ */
+public class TickScheduler {
+
+    public interface TickListener {
+        /**
+         * Called on the owner thread as soon as timers reach their deadline. {@code opened}
+         * is true when these are the first expiries since the last batch was flushed.
+         */
+        void onTimersExpired(List<CountdownTimer> expired, boolean opened);
+
+        /** Called once per tick, before {@link #onTick(long)}, with every timer that finished since the last tick */
+        void onExpiryBatch(List<CountdownTimer> batch);
+
+        /**
+         * Called once per whole second while any timer is running or a batch is pending,
+         * with the clock reading to update every displayed timer from
+         */
+        void onTick(long nowNanos);
+    }
+
+    static final long MAX_WAKEUP_MILLIS = 10_000;
+
+    private final ExpiryIndex index = new ExpiryIndex();
+    private final List<CountdownTimer> due = new ArrayList<>();
+    private final List<CountdownTimer> expired = new ArrayList<>();
+    private final ExpiryBatch batch = new ExpiryBatch();
+    private final LatenessStats lateness = new LatenessStats();
+    private final WakeupSource wakeups;
+    private final TickListener listener;
+    private final TimeSource clock;
+    private final Executor ownerExecutor;
+    private WakeupSource.Pending pendingWakeup;
+    private WakeupSource.Pending pendingTick;
+    private long tickGeneration = 0; // a tick already handed to the owner runs only if still current
+    private long wakeupGeneration = 0; // likewise for expiry wake-ups
+    private long armedDeadline = Long.MAX_VALUE;
+    private boolean displayArmed = false;
+    private boolean displaySuspended = false;
+
+    /** Wake-ups and ticks are handed to {@code ownerExecutor}, which must run tasks one at a time */
+    public TickScheduler(TickListener listener, TimeSource clock, Executor ownerExecutor) {
+        this(listener, clock, ownerExecutor, WakeupSource.daemon("chronox-expiry"));
+    }
+
+    /** As above, with wake-ups from {@code wakeups}, e.g. a {@link VirtualWakeupSource} */
+    public TickScheduler(TickListener listener, TimeSource clock, Executor ownerExecutor, WakeupSource wakeups) {
+        this.wakeups = wakeups;
+        this.listener = listener;
+        this.clock = clock;
+        this.ownerExecutor = ownerExecutor;
+    }
+
+    /**
+     * Index the timer by its current deadline, or drop it if it is no longer running.
+     * Call after every start, pause, resume, restart or edit.
+     */
+    public void schedule(CountdownTimer timer) {
+        if (!timer.isRunning()) {
+            cancel(timer);
+            return;
+        }
+        index.schedule(timer, timer.getDeadlineNanos());
+        armExpiry();
+        armDisplay();
+    }
+
+    /** Index a batch of timers, e.g. everything restored at startup, arming the wake-ups once */
+    public void scheduleAll(Collection<CountdownTimer> timers) {
+        for (CountdownTimer timer : timers) {
+            if (timer.isRunning()) index.schedule(timer, timer.getDeadlineNanos());
+        }
+        if (index.isEmpty()) return;
+        armExpiry();
+        armDisplay();
+    }
+
+    public void cancel(CountdownTimer timer) {
+        if (!index.cancel(timer)) return;
+        armExpiry();
+        if (index.isEmpty() && batch.isEmpty()) disarmDisplay();
+    }
+
+    /** Stop or restart the per-second display tick; expiry and batch hand-over continue either way */
+    public void setDisplaySuspended(boolean suspended) {
+        if (suspended == displaySuspended) return;
+        displaySuspended = suspended;
+        if (suspended) {
+            disarmDisplay();
+            if (!batch.isEmpty()) listener.onExpiryBatch(batch.drain());
+        } else if (!index.isEmpty() || !batch.isEmpty()) {
+            armDisplay();
+        }
+    }
+
+    public boolean isDisplaySuspended() {
+        return displaySuspended;
+    }
+
+    public boolean isScheduled(CountdownTimer timer) {
+        return index.contains(timer);
+    }
+
+    public TimeSource getClock() {
+        return clock;
+    }
+
+    /** How late, past each deadline, finished timers were detected */
+    public LatenessStats getLatenessStats() {
+        return lateness;
+    }
+
+    public void stop() {
+        index.clear();
+        armExpiry();
+        disarmDisplay();
+        wakeups.shutdown();
+    }
+
+    private void expire(long generation) {
+        if (generation != wakeupGeneration) return; // superseded; the current wake-up is still armed
+        resync(); // before reading the clock, so deadlines passed during a suspend are due
+        long now = clock.nanoTime();
+        armedDeadline = Long.MAX_VALUE;
+        pendingWakeup = null;
+        index.pollDue(now, due);
+        boolean opened = false;
+        for (CountdownTimer timer : due) {
+            timer.updateRemaining(now);
+            if (timer.isFinished()) {
+                lateness.record((now - timer.getDeadlineNanos()) / 1_000_000);
+                expired.add(timer);
+                opened |= batch.add(timer);
+            } else {
+                schedule(timer);
+            }
+        }
+        due.clear();
+        if (!expired.isEmpty()) {
+            listener.onTimersExpired(expired, opened);
+            expired.clear();
+        }
+        armExpiry();
+        if (batch.isEmpty()) return;
+        if (displaySuspended) listener.onExpiryBatch(batch.drain());
+        else armDisplay(); // the next tick flushes the batch
+    }
+
+    /** Keep exactly one wake-up armed, for the earliest deadline in the index */
+    private void armExpiry() {
+        long next = index.nextDeadline();
+        if (next == armedDeadline) return;
+        if (pendingWakeup != null) pendingWakeup.cancel();
+        pendingWakeup = null;
+        long generation = ++wakeupGeneration;
+        armedDeadline = next;
+        if (next == Long.MAX_VALUE || wakeups.isShutdown()) return;
+        long delay = Math.min(Math.max(0, next - clock.nanoTime()), TimeUnit.MILLISECONDS.toNanos(MAX_WAKEUP_MILLIS));
+        pendingWakeup = wakeups.schedule(() -> ownerExecutor.execute(() -> expire(generation)), delay);
+    }
+
+    private void tick(long generation) {
+        if (generation != tickGeneration) return;
+        displayArmed = false;
+        pendingTick = null;
+        if (resync()) armExpiry(); // deadlines passed during the suspend are now due
+        if (!batch.isEmpty()) listener.onExpiryBatch(batch.drain());
+        listener.onTick(clock.nanoTime());
+        if (!index.isEmpty()) armDisplay();
+    }
+
+    /** Re-anchor the clock after a suspend and move every running deadline back to match */
+    private boolean resync() {
+        long jump = clock.resync();
+        if (jump == 0) return false;
+        index.shiftAll(-jump, timer -> timer.shiftDeadline(-jump));
+        return true;
+    }
+
+    private void armDisplay() {
+        if (displayArmed || displaySuspended || wakeups.isShutdown()) return;
+        displayArmed = true;
+        long generation = ++tickGeneration;
+        long untilNextSecond = 1000 - (clock.toInstant(clock.nanoTime()).toEpochMilli() % 1000);
+        pendingTick = wakeups.schedule(() -> ownerExecutor.execute(() -> tick(generation)),
+                TimeUnit.MILLISECONDS.toNanos(untilNextSecond));
+    }
+
+    private void disarmDisplay() {
+        displayArmed = false;
+        tickGeneration++;
+        if (pendingTick != null) pendingTick.cancel();
+        pendingTick = null;
+    }
+}
@@ -0,0 +1,91 @@
+package no.countdown.engine;
+
+import no.countdown.model.TimeSource;
+import no.countdown.model.VirtualTimeSource;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+/**
+ * Wake-ups on a {@link VirtualTimeSource}. Nothing fires on its own: {@link #runNext} and
+ * {@link #runUntil} advance the clock to each wake-up in turn and run it on the calling
+ * thread, so a {@link TickScheduler} can run days of simulated time in seconds. Not
+ * thread-safe; pair it with an owner executor that runs tasks inline.
+ */
+public class VirtualWakeupSource implements WakeupSource {
+
+    private static final class Wakeup implements Pending {
+        final long due;
+        final long seq;
+        final Runnable task;
+        boolean cancelled;
+
+        Wakeup(long due, long seq, Runnable task) {
+            this.due = due;
+            this.seq = seq;
+            this.task = task;
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+
+    private final VirtualTimeSource clock;
+    // Ties run in the order they were scheduled
+    private final PriorityQueue<Wakeup> queue = new PriorityQueue<>(
+            Comparator.comparingLong((Wakeup w) -> w.due).thenComparingLong(w -> w.seq));
+    private long seq = 0;
+    private boolean shutdown = false;
+
+    public VirtualWakeupSource(VirtualTimeSource clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public Pending schedule(Runnable task, long delayNanos) {
+        Wakeup wakeup = new Wakeup(TimeSource.saturatedAdd(clock.nanoTime(), Math.max(0, delayNanos)), seq++, task);
+        if (!shutdown) queue.add(wakeup);
+        return wakeup;
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown = true;
+        queue.clear();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    /** Reading at which the earliest pending wake-up is due, or Long.MAX_VALUE if none is */
+    public long nextWakeup() {
+        while (!queue.isEmpty() && queue.peek().cancelled) queue.poll();
+        return queue.isEmpty() ? Long.MAX_VALUE : queue.peek().due;
+    }
+
+    /**
+     * Run the earliest wake-up if it is due at or before {@code endNanos}, first advancing the
+     * clock to it (a wake-up already overdue runs at the current time). Returns false if none is.
+     */
+    public boolean runNext(long endNanos) {
+        if (nextWakeup() > endNanos) return false;
+        Wakeup wakeup = queue.poll();
+        long now = clock.nanoTime();
+        if (wakeup.due > now) clock.advanceNanos(wakeup.due - now);
+        wakeup.task.run();
+        return true;
+    }
+
+    /** Run every wake-up due by {@code endNanos}, including those scheduled meanwhile, then advance the clock to it */
+    public int runUntil(long endNanos) {
+        int ran = 0;
+        while (runNext(endNanos)) ran++;
+        long now = clock.nanoTime();
+        if (endNanos > now) clock.advanceNanos(endNanos - now);
+        return ran;
+    }
+}
@@ -0,0 +1,52 @@
+package no.countdown.engine;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Where {@link TickScheduler} gets its one-shot wake-ups: a daemon thread sleeping in real
+ * time, or a {@link VirtualWakeupSource} to run the same engine on a virtual clock.
+ */
+public interface WakeupSource {
+
+    /** A wake-up that has not fired yet */
+    interface Pending {
+        void cancel();
+    }
+
+    /** Run {@code task} once, {@code delayNanos} from now, on the source's own thread */
+    Pending schedule(Runnable task, long delayNanos);
+
+    /** Drop every pending wake-up; later ones are ignored */
+    void shutdown();
+
+    boolean isShutdown();
+
+    /** Wake-ups from a single daemon thread, in real time */
+    static WakeupSource daemon(String threadName) {
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, threadName);
+            t.setDaemon(true);
+            return t;
+        });
+        return new WakeupSource() {
+            @Override
+            public Pending schedule(Runnable task, long delayNanos) {
+                ScheduledFuture<?> future = executor.schedule(task, delayNanos, TimeUnit.NANOSECONDS);
+                return () -> future.cancel(false);
+            }
+
+            @Override
+            public void shutdown() {
+                executor.shutdownNow();
+            }
+
+            @Override
+            public boolean isShutdown() {
+                return executor.isShutdown();
+            }
+        };
+    }
+}
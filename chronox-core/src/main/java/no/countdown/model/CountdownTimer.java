@@ -0,0 +1,225 @@
+package no.countdown.model;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * One countdown, in plain fields so it can run headless; the JavaFX app observes it
+ * through an adapter. Not thread-safe: a timer belongs to its scheduler's owner thread.
+ */
+public class CountdownTimer implements ReadOnlyTimer {
+
+    public enum TimeUnit {
+        MINUTES, HOURS, DAYS, WEEKS, MONTHS;
+
+        /** {@code time} plus {@code amount} of this unit, by the calendar */
+        public LocalDateTime addTo(LocalDateTime time, long amount) {
+            return switch (this) {
+                case MINUTES -> time.plusMinutes(amount);
+                case HOURS -> time.plusHours(amount);
+                case DAYS -> time.plusDays(amount);
+                case WEEKS -> time.plusWeeks(amount);
+                case MONTHS -> time.plusMonths(amount);
+            };
+        }
+
+        @Override
+        public String toString() {
+            return name().charAt(0) + name().substring(1).toLowerCase();
+        }
+    }
+
+    private String themeName = "";
+    private String description = "";
+    private String className = "";
+    private LocalDateTime targetTime;
+    private boolean running;
+    private boolean finished;
+    private long remainingSeconds;
+
+    static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final TimeSource clock;
+    private long id;
+    private long orderKey;
+    private long deadlineNanos;
+    private long pausedNanos = -1; // remaining time while paused, -1 when not paused
+    private long originalAmount;
+    private TimeUnit originalUnit;
+    private long totalSeconds;
+
+    public CountdownTimer(String themeName, String description) {
+        this(themeName, description, "", TimeSource.system());
+    }
+
+    public CountdownTimer(String themeName, String description, String className) {
+        this(themeName, description, className, TimeSource.system());
+    }
+
+    public CountdownTimer(String themeName, String description, String className, TimeSource clock) {
+        this.clock = clock;
+        this.themeName = themeName;
+        this.description = description;
+        this.className = className != null ? className : "";
+    }
+
+    public void startCountdown(long amount, TimeUnit unit) {
+        this.originalAmount = amount;
+        this.originalUnit = unit;
+        long nowNanos = clock.nanoTime();
+        // Calendar units are resolved against the wall clock; the deadline itself is monotonic
+        LocalDateTime now = clock.toLocalDateTime(nowNanos);
+        LocalDateTime target = unit.addTo(now, amount);
+        targetTime = target;
+        totalSeconds = Duration.between(now, target).toSeconds();
+        deadlineNanos = TimeSource.saturatedAdd(nowNanos, secondsToNanos(totalSeconds));
+        finished = false;
+        running = true;
+        pausedNanos = -1;
+        updateRemaining(nowNanos);
+    }
+
+    public void updateRemaining() {
+        updateRemaining(clock.nanoTime());
+    }
+
+    /** Update from a clock reading taken once by the caller for a whole pass over the timers */
+    public void updateRemaining(long nowNanos) {
+        if (!running || finished) return;
+
+        long remaining = deadlineNanos - nowNanos;
+        if (remaining <= 0) {
+            remainingSeconds = 0;
+            running = false;
+            finished = true;
+        } else {
+            remainingSeconds = remaining / NANOS_PER_SECOND;
+        }
+    }
+
+    /**
+     * Whole seconds left at {@code nowNanos}, without changing any state; for rendering, which
+     * must leave finishing a timer to the scheduler. Zero once the deadline has passed.
+     */
+    public long remainingSecondsAt(long nowNanos) {
+        if (!running || finished) return remainingSeconds;
+        return Math.max(0, deadlineNanos - nowNanos) / NANOS_PER_SECOND;
+    }
+
+    /** As {@link #getProgress()}, at {@code nowNanos} */
+    public double progressAt(long nowNanos) {
+        if (totalSeconds <= 0) return 0;
+        return 1.0 - ((double) remainingSecondsAt(nowNanos) / totalSeconds);
+    }
+
+    public void pause() {
+        if (!running || finished) return;
+
+        pausedNanos = Math.max(0, deadlineNanos - clock.nanoTime());
+        remainingSeconds = pausedNanos / NANOS_PER_SECOND;
+        running = false;
+    }
+
+    public void resume() {
+        if (running || finished || pausedNanos < 0) return;
+
+        deadlineNanos = TimeSource.saturatedAdd(clock.nanoTime(), pausedNanos);
+        targetTime = clock.toLocalDateTime(deadlineNanos);
+        pausedNanos = -1;
+        running = true;
+    }
+
+    public void reset() {
+        running = false;
+        finished = false;
+        remainingSeconds = 0;
+        targetTime = null;
+        pausedNanos = -1;
+    }
+
+    public void restart() {
+        if (originalUnit == null) return;
+        startCountdown(originalAmount, originalUnit);
+    }
+
+    public boolean isPaused() {
+        return !running && !finished && pausedNanos >= 0;
+    }
+
+    /**
+     * Move the monotonic deadline by {@code deltaNanos}, keeping the wall-clock target, after
+     * the clock's anchor moved (see {@link TimeSource#resync()})
+     */
+    public void shiftDeadline(long deltaNanos) {
+        if (running) deadlineNanos = TimeSource.saturatedAdd(deadlineNanos, deltaNanos);
+    }
+
+    /** Restore a running timer from saved targetTime */
+    public void restoreRunning(long amount, TimeUnit unit, long savedTotalSeconds, LocalDateTime savedTarget) {
+        this.originalAmount = amount;
+        this.originalUnit = unit;
+        this.totalSeconds = savedTotalSeconds;
+        this.targetTime = savedTarget;
+        this.deadlineNanos = savedTarget != null ? clock.toNanos(savedTarget) : 0;
+        this.pausedNanos = -1;
+        this.finished = false;
+        this.running = true;
+        updateRemaining(); // will mark finished if target is in the past
+    }
+
+    /** Restore a paused timer from saved remaining seconds */
+    public void restorePaused(long amount, TimeUnit unit, long savedTotalSeconds, long savedRemainingSeconds) {
+        this.originalAmount = amount;
+        this.originalUnit = unit;
+        this.totalSeconds = savedTotalSeconds;
+        this.pausedNanos = secondsToNanos(savedRemainingSeconds);
+        this.remainingSeconds = savedRemainingSeconds;
+        this.running = false;
+        this.finished = false;
+    }
+
+    /** Restore a finished timer */
+    public void restoreFinished(long amount, TimeUnit unit, long savedTotalSeconds) {
+        this.originalAmount = amount;
+        this.originalUnit = unit;
+        this.totalSeconds = savedTotalSeconds;
+        this.remainingSeconds = 0;
+        this.running = false;
+        this.finished = true;
+    }
+
+    /** Stable identity used by the persistence journal; 0 until assigned */
+    public long getId() { return id; }
+    public void setId(long id) { this.id = id; }
+
+    /** Position in the user's manual order; only compared, never shown */
+    public long getOrderKey() { return orderKey; }
+    public void setOrderKey(long orderKey) { this.orderKey = orderKey; }
+
+    public long getOriginalAmount() { return originalAmount; }
+    public TimeUnit getOriginalUnit() { return originalUnit; }
+    public long getTotalSeconds() { return totalSeconds; }
+
+    /** Monotonic deadline in {@link TimeSource#nanoTime()} terms; meaningful only while running */
+    public long getDeadlineNanos() { return deadlineNanos; }
+    public TimeSource getClock() { return clock; }
+
+    /** Deadlines beyond the long range (about 292 years) saturate */
+    static long secondsToNanos(long seconds) {
+        return seconds > Long.MAX_VALUE / NANOS_PER_SECOND ? Long.MAX_VALUE : seconds * NANOS_PER_SECOND;
+    }
+
+    public String getThemeName() { return themeName; }
+    public void setThemeName(String name) { this.themeName = name; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String desc) { this.description = desc; }
+
+    public String getClassName() { return className; }
+    public void setClassName(String cn) { this.className = cn != null ? cn : ""; }
+
+    public LocalDateTime getTargetTime() { return targetTime; }
+    public boolean isRunning() { return running; }
+    public boolean isFinished() { return finished; }
+    public long getRemainingSeconds() { return remainingSeconds; }
+}
@@ -0,0 +1,40 @@
+package no.countdown.model;
+
+import no.countdown.model.CountdownTimer.TimeUnit;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read side of a timer, shared by {@link CountdownTimer} and the rows of a
+ * {@link TimerTable}, so formatting and persistence work on either.
+ */
+public interface ReadOnlyTimer {
+
+    /** Stable identity used by the persistence journal; 0 until assigned */
+    long getId();
+
+    String getThemeName();
+    String getDescription();
+    String getClassName();
+
+    /** Wall-clock target while running, otherwise possibly null */
+    LocalDateTime getTargetTime();
+
+    boolean isRunning();
+    boolean isPaused();
+    boolean isFinished();
+
+    long getRemainingSeconds();
+    long getTotalSeconds();
+    long getOriginalAmount();
+    TimeUnit getOriginalUnit();
+
+    /** Monotonic deadline in {@link TimeSource#nanoTime()} terms; meaningful only while running */
+    long getDeadlineNanos();
+
+    default double getProgress() {
+        long total = getTotalSeconds();
+        if (total <= 0) return 0;
+        return 1.0 - ((double) getRemainingSeconds() / total);
+    }
+}
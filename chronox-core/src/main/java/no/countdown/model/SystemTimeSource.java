@@ -0,0 +1,57 @@
+package no.countdown.model;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * {@link System#nanoTime()}, anchored to the wall clock when the class loads. On Linux the
+ * monotonic clock does not count suspend, so {@link #resync()} re-anchors when the wall
+ * clock has run ahead of the estimate by more than NTP would slew.
+ */
+final class SystemTimeSource implements TimeSource {
+
+    static final SystemTimeSource INSTANCE = new SystemTimeSource();
+
+    /** Smallest gap between the wall clock and the estimate that counts as a suspend */
+    private static final long JUMP_NANOS = 2_000_000_000L;
+
+    private record Anchor(long nanos, Instant instant) {}
+
+    private volatile Anchor anchor;
+
+    private SystemTimeSource() {
+        anchor = new Anchor(System.nanoTime(), Instant.now());
+    }
+
+    @Override
+    public long nanoTime() {
+        return System.nanoTime();
+    }
+
+    @Override
+    public long anchorNanos() {
+        return anchor.nanos();
+    }
+
+    @Override
+    public Instant anchorInstant() {
+        return anchor.instant();
+    }
+
+    @Override
+    public Instant toInstant(long nanos) {
+        Anchor a = anchor;
+        return a.instant().plusNanos(nanos - a.nanos());
+    }
+
+    @Override
+    public long resync() {
+        long now = System.nanoTime();
+        Instant wall = Instant.now();
+        long ahead = Duration.between(toInstant(now), wall).toNanos();
+        if (ahead < JUMP_NANOS) return 0;
+        anchor = new Anchor(now, wall);
+        System.out.printf("[ChronoX] Clock re-anchored %.1f s forward (suspend?)%n", ahead / 1e9);
+        return ahead;
+    }
+}
@@ -0,0 +1,68 @@
+package no.countdown.model;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Clock for timers and the tick engine: a monotonic nanosecond reading, immune to DST and
+ * NTP adjustments, plus the wall-clock instant at one reading (the anchor), so deadlines
+ * can be saved and restored as local date-times.
+ *
+ * <p>The monotonic reading may stop while the machine is suspended; {@link #resync()}
+ * moves the anchor forward when that happens, and callers shift their deadlines to match.
+ */
+public interface TimeSource {
+
+    /** Monotonic reading in nanoseconds; only differences between readings are meaningful */
+    long nanoTime();
+
+    /** The reading at which {@link #anchorInstant()} was taken */
+    long anchorNanos();
+
+    /** Wall-clock time at {@link #anchorNanos()} */
+    Instant anchorInstant();
+
+    /**
+     * The wall clock read from the system at startup and advanced monotonically, re-anchored
+     * by {@link #resync()} after a suspend
+     */
+    static TimeSource system() {
+        return SystemTimeSource.INSTANCE;
+    }
+
+    /**
+     * Compare the wall clock with the anchored estimate and, if it has run ahead (the monotonic
+     * reading stood still during a suspend), move the anchor forward. Returns how far, in
+     * nanos, so running deadlines can be moved back by as much to keep their wall-clock
+     * targets; 0 if nothing changed. A clock set backwards is ignored. Call on the owner thread.
+     */
+    default long resync() {
+        return 0;
+    }
+
+    /** Wall-clock instant corresponding to a reading */
+    default Instant toInstant(long nanos) {
+        return anchorInstant().plusNanos(nanos - anchorNanos());
+    }
+
+    default LocalDateTime toLocalDateTime(long nanos) {
+        return LocalDateTime.ofInstant(toInstant(nanos), ZoneId.systemDefault());
+    }
+
+    /** Reading corresponding to a local date-time, saturating at the ends of the long range */
+    default long toNanos(LocalDateTime time) {
+        Instant instant = time.atZone(ZoneId.systemDefault()).toInstant();
+        Instant anchor = anchorInstant();
+        long seconds = instant.getEpochSecond() - anchor.getEpochSecond();
+        long nanos = instant.getNano() - anchor.getNano();
+        if (Math.abs(seconds) > 9_000_000_000L) return seconds > 0 ? Long.MAX_VALUE : Long.MIN_VALUE;
+        return saturatedAdd(anchorNanos(), seconds * 1_000_000_000L + nanos);
+    }
+
+    static long saturatedAdd(long a, long b) {
+        long sum = a + b;
+        if (((a ^ sum) & (b ^ sum)) < 0) return b > 0 ? Long.MAX_VALUE : Long.MIN_VALUE;
+        return sum;
+    }
+}
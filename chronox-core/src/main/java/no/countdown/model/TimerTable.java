@@ -0,0 +1,343 @@
+package no.countdown.model;
+
+import no.countdown.model.CountdownTimer.TimeUnit;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+import static no.countdown.model.CountdownTimer.NANOS_PER_SECOND;
+import static no.countdown.model.CountdownTimer.secondsToNanos;
+
+/**
+ * Columnar store for bulk workloads: millions of timers with no object per timer. Each
+ * timer is a row across primitive arrays, addressed by an int handle that stays valid
+ * until the row is removed. Removed rows are reused, so a handle carries the slot in its
+ * low {@value #SLOT_BITS} bits and the slot's generation, bumped on every removal, above
+ * them; every method taking a handle throws {@link IllegalArgumentException} for a removed
+ * one, also after its slot was handed out again (until the 8-bit generation wraps). Class
+ * names are dictionary-encoded to int ids. Rows behave like {@link CountdownTimer}: same
+ * states, same calendar-unit resolution, same monotonic deadlines.
+ *
+ * <p>A row costs {@value #BYTES_PER_TIMER} bytes: five longs (id, deadline, remaining,
+ * total, amount), state, unit and generation bytes, a class id and two references for the
+ * name and description, which are typically shared or null in bulk use. A {@link #sweep}
+ * touches only the state, deadline and remaining columns, in order.
+ *
+ * <p>{@link #row} gives a {@link ReadOnlyTimer} view of one row, so formatting and
+ * persistence work unchanged. Not thread-safe: one owner thread, like the timers.
+ */
+public class TimerTable {
+
+    /** Approximate heap cost per row, excluding name and description contents */
+    public static final int BYTES_PER_TIMER = 5 * Long.BYTES + 3 + Integer.BYTES + 2 * 4;
+
+    /** Handles hold the slot in the low bits and its generation in the 8 above, staying non-negative */
+    static final int SLOT_BITS = 23;
+    private static final int SLOT_MASK = (1 << SLOT_BITS) - 1;
+    private static final int MAX_SLOTS = 1 << SLOT_BITS;
+
+    private static final byte FREE = 0, IDLE = 1, RUNNING = 2, PAUSED = 3, FINISHED = 4;
+    private static final TimeUnit[] UNITS = TimeUnit.values();
+    private static final byte NO_UNIT = -1;
+
+    private final TimeSource clock;
+    private long[] ids;
+    /** Monotonic deadline while running; remaining nanos while paused */
+    private long[] deadlines;
+    private long[] remaining;
+    private long[] totals;
+    private long[] amounts;
+    private byte[] states;
+    private byte[] units;
+    private byte[] generations;
+    private int[] classIds;
+    private String[] names;
+    private String[] descriptions;
+    private int slotCount = 0;
+    private int live = 0;
+    private int[] free = new int[16];
+    private int freeCount = 0;
+
+    private final List<String> classNames = new ArrayList<>(List.of(""));
+    private final Map<String, Integer> classIdsByName = new HashMap<>(Map.of("", 0));
+
+    public TimerTable(TimeSource clock) {
+        this(clock, 1024);
+    }
+
+    public TimerTable(TimeSource clock, int initialCapacity) {
+        this.clock = clock;
+        allocate(Math.min(Math.max(16, initialCapacity), MAX_SLOTS));
+    }
+
+    /** Add an idle timer and return its handle */
+    public int add(String themeName, String description, String className) {
+        int s = freeCount > 0 ? free[--freeCount] : nextSlot();
+        states[s] = IDLE;
+        units[s] = NO_UNIT;
+        ids[s] = 0;
+        deadlines[s] = remaining[s] = totals[s] = amounts[s] = 0;
+        names[s] = themeName;
+        descriptions[s] = description;
+        classIds[s] = classId(className);
+        live++;
+        return handle(s);
+    }
+
+    /** Remove a row; its handle is invalid from now on. Removing it again does nothing. */
+    public void remove(int h) {
+        if (!contains(h)) return;
+        int s = h & SLOT_MASK;
+        states[s] = FREE;
+        generations[s]++;
+        names[s] = null;
+        descriptions[s] = null;
+        live--;
+        if (freeCount == free.length) free = Arrays.copyOf(free, freeCount * 2);
+        free[freeCount++] = s;
+    }
+
+    /** Number of live rows */
+    public int size() {
+        return live;
+    }
+
+    public boolean contains(int h) {
+        int s = h & SLOT_MASK;
+        return h >= 0 && s < slotCount && states[s] != FREE && h == handle(s);
+    }
+
+    /** Call {@code action} with the handle of every live row, in slot order */
+    public void forEach(IntConsumer action) {
+        for (int s = 0; s < slotCount; s++) {
+            if (states[s] != FREE) action.accept(handle(s));
+        }
+    }
+
+    // --- Lifecycle, mirroring CountdownTimer ---
+
+    public void start(int h, long amount, TimeUnit unit) {
+        int s = slot(h);
+        amounts[s] = amount;
+        units[s] = (byte) unit.ordinal();
+        long now = clock.nanoTime();
+        LocalDateTime wall = clock.toLocalDateTime(now);
+        long total = Duration.between(wall, unit.addTo(wall, amount)).toSeconds();
+        totals[s] = total;
+        deadlines[s] = TimeSource.saturatedAdd(now, secondsToNanos(total));
+        states[s] = RUNNING;
+        update(s, now);
+    }
+
+    public void pause(int h) {
+        int s = slot(h);
+        if (states[s] != RUNNING) return;
+        long left = Math.max(0, deadlines[s] - clock.nanoTime());
+        deadlines[s] = left;
+        remaining[s] = left / NANOS_PER_SECOND;
+        states[s] = PAUSED;
+    }
+
+    public void resume(int h) {
+        int s = slot(h);
+        if (states[s] != PAUSED) return;
+        deadlines[s] = TimeSource.saturatedAdd(clock.nanoTime(), deadlines[s]);
+        states[s] = RUNNING;
+    }
+
+    public void reset(int h) {
+        int s = slot(h);
+        states[s] = IDLE;
+        remaining[s] = 0;
+        deadlines[s] = 0;
+    }
+
+    public void restart(int h) {
+        int s = slot(h);
+        if (units[s] == NO_UNIT) return;
+        start(h, amounts[s], UNITS[units[s]]);
+    }
+
+    public void restoreRunning(int h, long amount, TimeUnit unit, long savedTotalSeconds, LocalDateTime savedTarget) {
+        int s = restore(h, amount, unit, savedTotalSeconds, RUNNING);
+        deadlines[s] = savedTarget != null ? clock.toNanos(savedTarget) : 0;
+        update(s, clock.nanoTime()); // will mark finished if target is in the past
+    }
+
+    public void restorePaused(int h, long amount, TimeUnit unit, long savedTotalSeconds, long savedRemainingSeconds) {
+        int s = restore(h, amount, unit, savedTotalSeconds, PAUSED);
+        deadlines[s] = secondsToNanos(savedRemainingSeconds);
+        remaining[s] = savedRemainingSeconds;
+    }
+
+    public void restoreFinished(int h, long amount, TimeUnit unit, long savedTotalSeconds) {
+        int s = restore(h, amount, unit, savedTotalSeconds, FINISHED);
+        remaining[s] = 0;
+    }
+
+    /**
+     * Update every running row from one clock reading, passing the handle of each row that
+     * finished to {@code expired}. Returns the number of rows still running.
+     */
+    public int sweep(long nowNanos, IntConsumer expired) {
+        int running = 0;
+        for (int s = 0; s < slotCount; s++) {
+            if (states[s] != RUNNING) continue;
+            if (update(s, nowNanos)) expired.accept(handle(s));
+            else running++;
+        }
+        return running;
+    }
+
+    /** Earliest deadline of any running row, or Long.MAX_VALUE if none is running */
+    public long nextDeadline() {
+        long next = Long.MAX_VALUE;
+        for (int s = 0; s < slotCount; s++) {
+            if (states[s] == RUNNING && deadlines[s] < next) next = deadlines[s];
+        }
+        return next;
+    }
+
+    // --- Fields ---
+
+    public void setId(int h, long id) { ids[slot(h)] = id; }
+    public void setThemeName(int h, String name) { names[slot(h)] = name; }
+    public void setDescription(int h, String desc) { descriptions[slot(h)] = desc; }
+    public void setClassName(int h, String cn) { classIds[slot(h)] = classId(cn); }
+
+    /** Dictionary id of a class name, assigned on first use; 0 is the empty class */
+    public int classId(String className) {
+        String cn = className != null ? className : "";
+        Integer id = classIdsByName.get(cn);
+        if (id != null) return id;
+        classNames.add(cn);
+        classIdsByName.put(cn, classNames.size() - 1);
+        return classNames.size() - 1;
+    }
+
+    public String className(int classId) {
+        return classNames.get(classId);
+    }
+
+    public int classIdOf(int h) {
+        return classIds[slot(h)];
+    }
+
+    /** A view of the row; holds only the handle, and can be moved to another row */
+    public Row row(int h) {
+        slot(h);
+        return new Row(h);
+    }
+
+    /**
+     * Flyweight {@link ReadOnlyTimer} over one row of the table. Every accessor checks the
+     * handle, so a view left on a removed row throws instead of reading its slot's next owner.
+     */
+    public final class Row implements ReadOnlyTimer {
+        private int h;
+
+        private Row(int h) {
+            this.h = h;
+        }
+
+        /** Point this view at another row, e.g. while iterating */
+        public Row moveTo(int handle) {
+            this.h = handle;
+            return this;
+        }
+
+        public int handle() { return h; }
+
+        public long getId() { return ids[slot(h)]; }
+        public String getThemeName() { return names[slot(h)]; }
+        public String getDescription() { return descriptions[slot(h)]; }
+        public String getClassName() { return classNames.get(classIds[slot(h)]); }
+
+        public LocalDateTime getTargetTime() {
+            int s = slot(h);
+            return states[s] == RUNNING ? clock.toLocalDateTime(deadlines[s]) : null;
+        }
+
+        public boolean isRunning() { return states[slot(h)] == RUNNING; }
+        public boolean isPaused() { return states[slot(h)] == PAUSED; }
+        public boolean isFinished() { return states[slot(h)] == FINISHED; }
+
+        public long getRemainingSeconds() { return remaining[slot(h)]; }
+        public long getTotalSeconds() { return totals[slot(h)]; }
+        public long getOriginalAmount() { return amounts[slot(h)]; }
+
+        public TimeUnit getOriginalUnit() {
+            byte unit = units[slot(h)];
+            return unit == NO_UNIT ? null : UNITS[unit];
+        }
+
+        public long getDeadlineNanos() {
+            int s = slot(h);
+            return states[s] == RUNNING ? deadlines[s] : 0;
+        }
+    }
+
+    /** Returns true if the row in slot {@code s} just finished */
+    private boolean update(int s, long nowNanos) {
+        long left = deadlines[s] - nowNanos;
+        if (left > 0) {
+            remaining[s] = left / NANOS_PER_SECOND;
+            return false;
+        }
+        remaining[s] = 0;
+        states[s] = FINISHED;
+        return true;
+    }
+
+    private int restore(int h, long amount, TimeUnit unit, long totalSeconds, byte state) {
+        int s = slot(h);
+        amounts[s] = amount;
+        units[s] = unit != null ? (byte) unit.ordinal() : NO_UNIT;
+        totals[s] = totalSeconds;
+        states[s] = state;
+        return s;
+    }
+
+    /**
+     * The slot of a live handle. A removed handle may already be on the free list, or its
+     * slot handed to a new row; touching it would revive the slot or corrupt its new owner.
+     */
+    private int slot(int h) {
+        if (!contains(h)) throw new IllegalArgumentException("No timer at handle " + h);
+        return h & SLOT_MASK;
+    }
+
+    private int handle(int s) {
+        return (generations[s] & 0xFF) << SLOT_BITS | s;
+    }
+
+    private int nextSlot() {
+        if (slotCount == MAX_SLOTS) throw new IllegalStateException("TimerTable is full (" + MAX_SLOTS + " rows)");
+        if (slotCount == states.length) allocate(Math.min(slotCount * 2, MAX_SLOTS));
+        return slotCount++;
+    }
+
+    private void allocate(int capacity) {
+        ids = grow(ids, capacity);
+        deadlines = grow(deadlines, capacity);
+        remaining = grow(remaining, capacity);
+        totals = grow(totals, capacity);
+        amounts = grow(amounts, capacity);
+        states = states == null ? new byte[capacity] : Arrays.copyOf(states, capacity);
+        units = units == null ? new byte[capacity] : Arrays.copyOf(units, capacity);
+        generations = generations == null ? new byte[capacity] : Arrays.copyOf(generations, capacity);
+        classIds = classIds == null ? new int[capacity] : Arrays.copyOf(classIds, capacity);
+        names = names == null ? new String[capacity] : Arrays.copyOf(names, capacity);
+        descriptions = descriptions == null ? new String[capacity] : Arrays.copyOf(descriptions, capacity);
+    }
+
+    private static long[] grow(long[] column, int capacity) {
+        return column == null ? new long[capacity] : Arrays.copyOf(column, capacity);
+    }
+}
@@ -0,0 +1,58 @@
+package no.countdown.model;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/** Simulated clock that only moves when told to, for running scenarios at full speed */
+public class VirtualTimeSource implements TimeSource {
+
+    private volatile Instant anchorInstant;
+    private volatile long nanos;
+    private long suspendedNanos = 0; // wall time passed while the monotonic reading stood still
+
+    public VirtualTimeSource(Instant start) {
+        this.anchorInstant = start;
+    }
+
+    @Override
+    public long nanoTime() {
+        return nanos;
+    }
+
+    @Override
+    public long anchorNanos() {
+        return 0;
+    }
+
+    @Override
+    public Instant anchorInstant() {
+        return anchorInstant;
+    }
+
+    public void advance(Duration by) {
+        advanceNanos(by.toNanos());
+    }
+
+    /**
+     * Let wall time pass without moving the monotonic reading, as a system suspend does;
+     * seen only once {@link #resync()} is called
+     */
+    public synchronized void suspend(Duration by) {
+        if (by.isNegative()) throw new IllegalArgumentException("time cannot move backwards: " + by);
+        suspendedNanos += by.toNanos();
+    }
+
+    @Override
+    public synchronized long resync() {
+        long jump = suspendedNanos;
+        if (jump == 0) return 0;
+        suspendedNanos = 0;
+        anchorInstant = anchorInstant.plusNanos(jump);
+        return jump;
+    }
+
+    public synchronized void advanceNanos(long by) {
+        if (by < 0) throw new IllegalArgumentException("time cannot move backwards: " + by);
+        nanos += by;
+    }
+}
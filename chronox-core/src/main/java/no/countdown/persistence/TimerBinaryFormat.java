@@ -0,0 +1,160 @@
+package no.countdown.persistence;
+
+import no.countdown.model.CountdownTimer.TimeUnit;
+import no.countdown.persistence.TimerRecord.State;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact, versioned binary snapshot of the timer list, read through a memory-mapped
+ * channel.
+ *
+ * <pre>
+ * header   int magic "CHXS", short version, short reserved, long seq, int count
+ * classes  int n, then n x (int length, UTF-8 bytes)       -- string table
+ * timers   count x fixed part + name + description
+ *          long id, long amount, long totalSeconds, long targetEpochMicros,
+ *          long remainingSeconds, int classIndex (-1 = none), byte unit (-1 = none), byte state,
+ *          int length + UTF-8 name, int length + UTF-8 description
+ * </pre>
+ *
+ * Target times are stored as instants in the system zone, so no text is parsed on load.
+ */
+public final class TimerBinaryFormat {
+
+    static final int MAGIC = 0x43485853; // "CHXS"
+    static final short VERSION = 1;
+    private static final long NO_TARGET = Long.MIN_VALUE;
+    /** Smallest encoded timer: the fixed part plus two empty strings */
+    private static final int MIN_TIMER_BYTES = 5 * Long.BYTES + Integer.BYTES + 2 + 2 * Integer.BYTES;
+
+    private TimerBinaryFormat() {}
+
+    public static boolean isBinary(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            byte[] head = in.readNBytes(4);
+            return head.length == 4 && ByteBuffer.wrap(head).getInt() == MAGIC;
+        }
+    }
+
+    public static void write(List<TimerRecord> records, long seq, Path file) throws IOException {
+        Map<String, Integer> classIndex = new HashMap<>();
+        List<String> classes = new ArrayList<>();
+        for (TimerRecord r : records) {
+            String cn = r.className();
+            if (cn != null && !cn.isEmpty() && !classIndex.containsKey(cn)) {
+                classIndex.put(cn, classes.size());
+                classes.add(cn);
+            }
+        }
+        ZoneId zone = ZoneId.systemDefault();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeShort(0);
+            out.writeLong(seq);
+            out.writeInt(records.size());
+            out.writeInt(classes.size());
+            for (String cn : classes) writeString(out, cn);
+            for (TimerRecord r : records) {
+                out.writeLong(r.id());
+                out.writeLong(r.originalAmount());
+                out.writeLong(r.totalSeconds());
+                LocalDateTime target = r.targetTime();
+                if (target == null) {
+                    out.writeLong(NO_TARGET);
+                } else {
+                    Instant instant = target.atZone(zone).toInstant();
+                    out.writeLong(instant.getEpochSecond() * 1_000_000L + instant.getNano() / 1_000);
+                }
+                out.writeLong(r.remainingSeconds());
+                String cn = r.className();
+                out.writeInt(cn == null || cn.isEmpty() ? -1 : classIndex.get(cn));
+                out.writeByte(r.originalUnit() != null ? r.originalUnit().ordinal() : -1);
+                out.writeByte(r.state().ordinal());
+                writeString(out, r.name());
+                writeString(out, r.description());
+            }
+        }
+    }
+
+    /**
+     * Read every timer into {@code out}; returns the journal sequence number the snapshot covers.
+     * A truncated or corrupt file throws and leaves {@code out} untouched.
+     */
+    public static long read(Path file, List<TimerRecord> out) throws IOException {
+        try (FileChannel ch = FileChannel.open(file)) {
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+            if (buf.getInt() != MAGIC) throw new IOException("not a binary snapshot");
+            short version = buf.getShort();
+            if (version != VERSION) throw new IOException("unsupported snapshot version " + version);
+            buf.getShort();
+            long seq = buf.getLong();
+            int count = buf.getInt();
+            int classCount = buf.getInt();
+            if (classCount < 0 || classCount > buf.remaining() / Integer.BYTES) {
+                throw new IOException("bad class count " + classCount);
+            }
+            String[] classes = new String[classCount];
+            byte[] scratch = new byte[256];
+            for (int i = 0; i < classes.length; i++) classes[i] = readString(buf, scratch);
+            TimeUnit[] units = TimeUnit.values();
+            State[] states = State.values();
+            ZoneId zone = ZoneId.systemDefault();
+            if (count < 0 || count > buf.remaining() / MIN_TIMER_BYTES) throw new IOException("bad timer count " + count);
+            List<TimerRecord> read = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                long id = buf.getLong();
+                long amount = buf.getLong();
+                long total = buf.getLong();
+                long targetMicros = buf.getLong();
+                long remaining = buf.getLong();
+                int cls = buf.getInt();
+                byte unit = buf.get();
+                byte state = buf.get();
+                String name = readString(buf, scratch);
+                String desc = readString(buf, scratch);
+                LocalDateTime target = targetMicros == NO_TARGET ? null
+                        : LocalDateTime.ofInstant(Instant.ofEpochSecond(Math.floorDiv(targetMicros, 1_000_000L),
+                                Math.floorMod(targetMicros, 1_000_000L) * 1_000), zone);
+                read.add(new TimerRecord(id, name, desc, cls >= 0 ? classes[cls] : "", amount,
+                        unit >= 0 ? units[unit] : null, total, states[state], target, remaining));
+            }
+            out.addAll(read);
+            return seq;
+        } catch (RuntimeException ex) { // BufferUnderflow, bad index: truncated or corrupt file
+            throw new IOException("corrupt binary snapshot: " + ex, ex);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        byte[] bytes = (s != null ? s : "").getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buf, byte[] scratch) {
+        int length = buf.getInt();
+        if (length == 0) return "";
+        if (length < 0 || length > buf.remaining()) throw new IllegalArgumentException("bad string length " + length);
+        byte[] bytes = length <= scratch.length ? scratch : new byte[length];
+        buf.get(bytes, 0, length);
+        return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,288 @@
+package no.countdown.persistence;
+
+import no.countdown.model.CountdownTimer.TimeUnit;
+import no.countdown.persistence.TimerRecord.State;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only binary log of timer mutations. Each entry is framed as
+ * {@code [int length][int crc32][payload]}, so a write torn by a crash is detected
+ * and replay stops at the last intact entry; {@link #recover} also cuts the damaged tail
+ * off before anything new is appended. Strings are int-length UTF-8, flagged in the length
+ * word; entries without the flag, from older versions, used writeUTF and are still read.
+ * Not thread-safe; owned by one writer thread.
+ */
+public class TimerJournal implements Closeable {
+
+    public enum Op { CREATE, EDIT, PAUSE, RESUME, RESTART, FINISH, RESET, DELETE, REORDER }
+
+    /**
+     * One mutation. State-changing ops carry the timer's full record after the change;
+     * {@code DELETE} carries only the id, {@code REORDER} the id it was moved in front of (0 = end).
+     */
+    public record Entry(long seq, Op op, long id, TimerRecord record, long beforeId) {}
+
+    private static final int HEADER_BYTES = 8;
+    /** Set in the length word when strings are int-length-prefixed UTF-8; older entries use writeUTF */
+    private static final int LONG_STRINGS = 1 << 30;
+    private static final int MAX_PAYLOAD = 1 << 26;
+
+    private final Path file;
+    private FileChannel channel;
+
+    public TimerJournal(Path file) {
+        this.file = file;
+    }
+
+    public void append(Entry entry) throws IOException {
+        append(List.of(entry));
+    }
+
+    /** Append several entries with a single write, on disk when this returns */
+    public void append(List<Entry> entries) throws IOException {
+        ByteBuffer buf = ByteBuffer.wrap(frameAll(entries));
+        FileChannel ch = channel();
+        while (buf.hasRemaining()) ch.write(buf);
+        ch.force(false);
+    }
+
+    /** Current size in bytes */
+    public long size() throws IOException {
+        return channel != null ? channel.size() : (Files.exists(file) ? Files.size(file) : 0);
+    }
+
+    /** Drop every entry, e.g. once a snapshot covering them has been written */
+    public void truncate() throws IOException {
+        channel().truncate(0);
+    }
+
+    /**
+     * Drop the entries up to and including {@code seq}, e.g. once a snapshot covers them,
+     * keeping any newer ones. The survivors are written to a new file that atomically
+     * replaces this one.
+     */
+    public void dropThrough(long seq) throws IOException {
+        List<Entry> newer = new ArrayList<>();
+        for (Entry e : scan(file).entries()) {
+            if (e.seq() > seq) newer.add(e);
+        }
+        if (newer.isEmpty()) {
+            truncate();
+            return;
+        }
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buf = ByteBuffer.wrap(frameAll(newer));
+            while (buf.hasRemaining()) ch.write(buf);
+            ch.force(false);
+        }
+        close(); // reopened on the next append
+        try {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException ex) {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private FileChannel channel() throws IOException {
+        if (channel == null) {
+            Files.createDirectories(file.getParent());
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+        return channel;
+    }
+
+    /** Read every intact entry; a torn or corrupt tail ends the replay. */
+    public static List<Entry> read(Path file) {
+        return scan(file).entries();
+    }
+
+    /**
+     * Read every intact entry and cut a torn or corrupt tail off the file, so entries
+     * appended from now on follow the last good one and are replayed next time.
+     */
+    public List<Entry> recover() {
+        Scan scan = scan(file);
+        try {
+            long size = size();
+            if (scan.validBytes() < size) {
+                System.err.println("[ChronoX] Dropping " + (size - scan.validBytes()) + " unreadable bytes from the end of " + file);
+                channel().truncate(scan.validBytes());
+            }
+        } catch (IOException ex) {
+            System.err.println("[ChronoX] Failed to repair journal " + file + ": " + ex.getMessage());
+        }
+        return scan.entries();
+    }
+
+    /** The intact entries and the length of the file they span */
+    private record Scan(List<Entry> entries, long validBytes) {}
+
+    private static Scan scan(Path file) {
+        List<Entry> entries = new ArrayList<>();
+        long validBytes = 0;
+        if (!Files.exists(file)) return new Scan(entries, 0);
+        try (InputStream raw = Files.newInputStream(file);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(raw))) {
+            while (true) {
+                int word;
+                try {
+                    word = in.readInt();
+                } catch (EOFException eof) {
+                    break;
+                }
+                boolean longStrings = (word & LONG_STRINGS) != 0;
+                int length = word & ~LONG_STRINGS;
+                int expectedCrc = in.readInt();
+                if (length <= 0 || length > MAX_PAYLOAD) throw new IOException("bad entry length " + length);
+                byte[] payload = new byte[length];
+                in.readFully(payload);
+                CRC32 crc = new CRC32();
+                crc.update(payload);
+                if ((int) crc.getValue() != expectedCrc) throw new IOException("checksum mismatch");
+                try {
+                    entries.add(decode(payload, longStrings));
+                } catch (IndexOutOfBoundsException ex) {
+                    throw new IOException("unknown op or enum value");
+                }
+                validBytes += HEADER_BYTES + length;
+            }
+        } catch (EOFException ex) {
+            System.err.println("[ChronoX] Journal " + file + " ends with a torn entry after " + entries.size() + " entries");
+        } catch (IOException ex) {
+            System.err.println("[ChronoX] Journal " + file + " is corrupt after " + entries.size() + " entries: " + ex.getMessage());
+        }
+        return new Scan(entries, validBytes);
+    }
+
+    private static byte[] encode(Entry entry) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeLong(entry.seq());
+        out.writeByte(entry.op().ordinal());
+        out.writeLong(entry.id());
+        switch (entry.op()) {
+            case DELETE -> {}
+            case REORDER -> out.writeLong(entry.beforeId());
+            default -> writeRecord(out, entry.record());
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] frameAll(List<Entry> entries) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128 * entries.size());
+        DataOutputStream out = new DataOutputStream(bytes);
+        for (Entry entry : entries) {
+            try {
+                frame(out, encode(entry));
+            } catch (IOException ex) { // one bad entry must not take the rest of the batch with it
+                System.err.println("[ChronoX] Skipping journal entry " + entry.seq() + " (" + entry.op() + "): " + ex.getMessage());
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void frame(DataOutputStream out, byte[] payload) throws IOException {
+        if (payload.length > MAX_PAYLOAD) throw new IOException("entry of " + payload.length + " bytes is too large");
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        out.writeInt(payload.length | LONG_STRINGS);
+        out.writeInt((int) crc.getValue());
+        out.write(payload);
+    }
+
+    private static Entry decode(byte[] payload, boolean longStrings) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        long seq = in.readLong();
+        Op op = Op.values()[in.readUnsignedByte()];
+        long id = in.readLong();
+        return switch (op) {
+            case DELETE -> new Entry(seq, op, id, null, 0);
+            case REORDER -> new Entry(seq, op, id, null, in.readLong());
+            default -> new Entry(seq, op, id, readRecord(in, id, longStrings), 0);
+        };
+    }
+
+    static void writeRecord(DataOutput out, TimerRecord r) throws IOException {
+        writeString(out, r.name());
+        writeString(out, r.description());
+        writeString(out, r.className());
+        out.writeLong(r.originalAmount());
+        out.writeByte(r.originalUnit() != null ? r.originalUnit().ordinal() : -1);
+        out.writeLong(r.totalSeconds());
+        out.writeByte(r.state().ordinal());
+        LocalDateTime target = r.targetTime();
+        out.writeBoolean(target != null);
+        if (target != null) {
+            out.writeLong(target.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(target.getNano());
+        }
+        out.writeLong(r.remainingSeconds());
+    }
+
+    static TimerRecord readRecord(DataInputStream in, long id, boolean longStrings) throws IOException {
+        String name = readString(in, longStrings);
+        String desc = readString(in, longStrings);
+        String cls = readString(in, longStrings);
+        long amount = in.readLong();
+        byte unit = in.readByte();
+        long total = in.readLong();
+        State state = State.values()[in.readUnsignedByte()];
+        LocalDateTime target = null;
+        if (in.readBoolean()) {
+            long epochSecond = in.readLong();
+            target = LocalDateTime.ofEpochSecond(epochSecond, in.readInt(), ZoneOffset.UTC);
+        }
+        long remaining = in.readLong();
+        return new TimerRecord(id, name, desc, cls, amount, unit >= 0 ? TimeUnit.values()[unit] : null,
+                total, state, target, remaining);
+    }
+
+    /** As {@link TimerBinaryFormat}: int length, then UTF-8, so no 64 KB limit */
+    private static void writeString(DataOutput out, String s) throws IOException {
+        byte[] bytes = (s != null ? s : "").getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in, boolean longStrings) throws IOException {
+        if (!longStrings) return in.readUTF();
+        int length = in.readInt();
+        if (length < 0 || length > in.available()) throw new IOException("bad string length " + length);
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,57 @@
+package no.countdown.persistence;
+
+import no.countdown.model.CountdownTimer;
+import no.countdown.model.CountdownTimer.TimeUnit;
+import no.countdown.model.ReadOnlyTimer;
+import no.countdown.model.TimeSource;
+
+import java.time.LocalDateTime;
+
+/**
+ * Immutable copy of one timer's persistent state. Captured on the owner thread so it can
+ * be encoded and written on a background thread without touching live timers.
+ */
+public record TimerRecord(
+        long id,
+        String name,
+        String description,
+        String className,
+        long originalAmount,
+        TimeUnit originalUnit,
+        long totalSeconds,
+        State state,
+        LocalDateTime targetTime,
+        long remainingSeconds) {
+
+    public enum State { RUNNING, PAUSED, FINISHED, IDLE }
+
+    public static TimerRecord of(ReadOnlyTimer t) {
+        State state;
+        if (t.isRunning() && t.getTargetTime() != null) state = State.RUNNING;
+        else if (t.isPaused()) state = State.PAUSED;
+        else if (t.isFinished()) state = State.FINISHED;
+        else state = State.IDLE;
+        return new TimerRecord(t.getId(), t.getThemeName(), t.getDescription(), t.getClassName(),
+                t.getOriginalAmount(), t.getOriginalUnit(), t.getTotalSeconds(), state,
+                state == State.RUNNING ? t.getTargetTime() : null,
+                state == State.PAUSED ? t.getRemainingSeconds() : 0);
+    }
+
+    /** A new timer on {@code clock} in this record's state, as restored at startup */
+    public CountdownTimer toTimer(TimeSource clock) {
+        CountdownTimer timer = new CountdownTimer(name, description, className, clock);
+        timer.setId(id);
+        switch (state) {
+            case RUNNING -> timer.restoreRunning(originalAmount, originalUnit, totalSeconds, targetTime);
+            case PAUSED -> timer.restorePaused(originalAmount, originalUnit, totalSeconds, remainingSeconds);
+            // idle — just store the original settings, don't start
+            case FINISHED, IDLE -> timer.restoreFinished(originalAmount, originalUnit, totalSeconds);
+        }
+        return timer;
+    }
+
+    public TimerRecord withId(long newId) {
+        return new TimerRecord(newId, name, description, className, originalAmount, originalUnit,
+                totalSeconds, state, targetTime, remainingSeconds);
+    }
+}
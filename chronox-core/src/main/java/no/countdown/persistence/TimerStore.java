@@ -0,0 +1,421 @@
+package no.countdown.persistence;
+
+import no.countdown.persistence.TimerJournal.Entry;
+import no.countdown.persistence.TimerJournal.Op;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Timer persistence as a snapshot plus an append-only journal.
+ *
+ * <p>Every mutation appends one small {@link TimerJournal} entry on a background
+ * thread, so a save costs O(1) instead of rewriting every timer; entries queued while the
+ * writer is busy, e.g. a batch of expiries, go out in a single write. Once the journal
+ * passes {@value #COMPACT_BYTES} bytes, a snapshot is captured on the owner thread and
+ * written in the background to a temporary file that is atomically moved over
+ * {@code timers.snapshot}; the journal then keeps only entries newer than the snapshot.
+ * Startup reads the snapshot and replays only journal entries newer than it. A legacy
+ * {@code timers.txt} is imported once when no snapshot exists yet. An unreadable snapshot is moved aside, never
+ * overwritten, and no snapshot is written for the rest of that session.
+ *
+ * <p>Snapshots are written as text by default, or with {@link TimerBinaryFormat} when
+ * {@code -Dchronox.snapshot=binary} is set; either format is recognised on load.
+ */
+public class TimerStore {
+
+    public static final Path DEFAULT_DIR = Paths.get(System.getProperty("user.home"), ".chronox");
+    static final long COMPACT_BYTES = 1 << 20;
+    /** Set {@code -Dchronox.snapshot=binary} to write compact binary snapshots instead of text */
+    static final String FORMAT_PROPERTY = "chronox.snapshot";
+    private static final String SEQ_HEADER = "# chronox snapshot seq=";
+
+    private final Path snapshotFile;
+    private final Path journalFile;
+    private final Path legacyFile;
+    private final Supplier<List<TimerRecord>> snapshot;
+    private final Executor ownerExecutor;
+    // package-private so tests can hold the writer busy
+    final ExecutorService writer = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "chronox-persist");
+        t.setDaemon(true);
+        return t;
+    });
+    private final TimerJournal journal;
+    private final boolean binarySnapshots = "binary".equalsIgnoreCase(System.getProperty(FORMAT_PROPERTY));
+
+    // owner thread
+    private long seq = 0;
+    private long nextId = 1;
+    private boolean closed = false;
+    private boolean snapshotsDisabled = false; // set by load, before any writer task
+
+    // owner thread adds, writer thread drains
+    private final Queue<Entry> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean drainQueued = new AtomicBoolean();
+
+    // writer thread
+    private boolean compactionPending = false;
+    private long journaledSeq = 0;
+
+    /**
+     * @param snapshot      captures the current state in display order, or returns null while that
+     *                      state is incomplete (no snapshot is written then); only called on the owner thread
+     * @param ownerExecutor runs tasks on the thread that owns the timers, e.g. {@code Platform::runLater}
+     */
+    public TimerStore(Path dir, Supplier<List<TimerRecord>> snapshot, Executor ownerExecutor) {
+        this.snapshotFile = dir.resolve("timers.snapshot");
+        this.journalFile = dir.resolve("timers.journal");
+        this.legacyFile = dir.resolve("timers.txt");
+        this.snapshot = snapshot;
+        this.ownerExecutor = ownerExecutor;
+        this.journal = new TimerJournal(journalFile);
+    }
+
+    /** Read the snapshot and replay the journal tail; every returned record has an id. */
+    public List<TimerRecord> load() {
+        try {
+            return load(false);
+        } catch (IOException ex) { // only thrown read-only
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Read-only, nothing on disk changes: an unreadable snapshot throws instead of being moved
+     * aside, the journal is not repaired and a legacy file is not migrated.
+     */
+    private List<TimerRecord> load(boolean readOnly) throws IOException {
+        List<TimerRecord> base = new ArrayList<>();
+        long snapshotSeq = 0;
+        boolean migrated = false;
+        if (Files.exists(snapshotFile)) {
+            long start = System.nanoTime();
+            try {
+                snapshotSeq = readSnapshot(base);
+                System.out.printf("[ChronoX] Loaded snapshot %s (%d timers, %.1f ms)%n",
+                        snapshotFile, base.size(), (System.nanoTime() - start) / 1e6);
+            } catch (IOException | RuntimeException ex) {
+                if (readOnly) throw new IOException("Failed to read " + snapshotFile + ": " + ex.getMessage(), ex);
+                System.err.println("[ChronoX] Failed to read snapshot: " + ex.getMessage());
+                base.clear();
+                quarantineSnapshot();
+            }
+        } else {
+            try {
+                if (Files.exists(legacyFile)) {
+                    try (BufferedReader in = Files.newBufferedReader(legacyFile)) {
+                        base = TimerTextFormat.read(in, legacyFile.getFileName().toString());
+                    }
+                    migrated = true;
+                    System.out.println("[ChronoX] Importing " + base.size() + " timer(s) from " + legacyFile);
+                } else {
+                    System.out.println("[ChronoX] No saved timers found in " + snapshotFile.getParent());
+                }
+            } catch (IOException | NumberFormatException ex) {
+                System.err.println("[ChronoX] Failed to read " + legacyFile + ": " + ex.getMessage());
+            }
+        }
+
+        List<Entry> tail = readOnly ? TimerJournal.read(journalFile) : journal.recover();
+        seq = snapshotSeq;
+        long maxId = 0;
+        for (TimerRecord r : base) maxId = Math.max(maxId, r.id());
+        for (Entry e : tail) {
+            seq = Math.max(seq, e.seq());
+            maxId = Math.max(maxId, e.id());
+        }
+        nextId = maxId + 1;
+        for (int i = 0; i < base.size(); i++) {
+            if (base.get(i).id() == 0) base.set(i, base.get(i).withId(nextId++)); // legacy blocks
+        }
+        List<TimerRecord> records = replay(base, snapshotSeq, tail);
+        if (!tail.isEmpty()) {
+            System.out.println("[ChronoX] Replayed " + tail.size() + " journal entries");
+        }
+
+        if (migrated && !readOnly) {
+            writeSnapshot(records, seq);
+            try {
+                Files.move(legacyFile, legacyFile.resolveSibling("timers.txt.migrated"), StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException ex) {
+                System.err.println("[ChronoX] Could not rename " + legacyFile + ": " + ex.getMessage());
+            }
+        }
+        return records;
+    }
+
+    /**
+     * Move an unreadable snapshot aside for manual recovery, and stop writing snapshots for
+     * the rest of the session: the journal then keeps every change made on top of it.
+     */
+    private void quarantineSnapshot() {
+        snapshotsDisabled = true;
+        Path aside = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".corrupt-"
+                + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")));
+        try {
+            Files.move(snapshotFile, aside);
+            System.err.println("[ChronoX] Moved the unreadable snapshot to " + aside + "; changes are journaled until restart");
+        } catch (IOException ex) {
+            System.err.println("[ChronoX] Could not move the unreadable snapshot aside: " + ex.getMessage()
+                    + "; changes are journaled until restart");
+        }
+    }
+
+    /** Write the saved timers in {@code dir} to {@code file} in the human-readable text format */
+    public static int exportText(Path dir, Path file) throws IOException {
+        TimerStore store = new TimerStore(dir, () -> null, Runnable::run);
+        List<TimerRecord> records;
+        try {
+            records = store.load(true);
+        } finally {
+            store.closed = true; // nothing was submitted, so there is nothing to save
+            store.writer.shutdown();
+        }
+        try (BufferedWriter out = Files.newBufferedWriter(file)) {
+            TimerTextFormat.write(records, out);
+        }
+        return records.size();
+    }
+
+    /** Append the timers in a text file to the saved timers in {@code dir}, as new timers */
+    public static int importText(Path dir, Path file) throws IOException {
+        List<TimerRecord> imported;
+        try (BufferedReader in = Files.newBufferedReader(file)) {
+            imported = TimerTextFormat.read(in, file.toString());
+        }
+        List<TimerRecord> live = new ArrayList<>();
+        // Compaction requests are never run: live is only read by the one snapshot close() writes
+        TimerStore store = new TimerStore(dir, () -> live, task -> {});
+        live.addAll(store.load());
+        for (TimerRecord r : imported) {
+            TimerRecord created = r.withId(store.nextId());
+            live.add(created);
+            store.append(Op.CREATE, created);
+        }
+        store.close();
+        return imported.size();
+    }
+
+    /** Allocate an id for a newly created timer */
+    public long nextId() {
+        return nextId++;
+    }
+
+    /** Journal a state change; {@code record} is the timer's state after the change */
+    public void append(Op op, TimerRecord record) {
+        submit(new Entry(++seq, op, record.id(), record, 0));
+    }
+
+    public void delete(long id) {
+        submit(new Entry(++seq, Op.DELETE, id, null, 0));
+    }
+
+    /** Journal that timer {@code id} was moved in front of {@code beforeId} (0 = to the end) */
+    public void reorder(long id, long beforeId) {
+        submit(new Entry(++seq, Op.REORDER, id, null, beforeId));
+    }
+
+    /**
+     * Capture a snapshot and write it in the background; the future completes on the writer
+     * thread with whether it was written. Call on the owner thread.
+     */
+    public CompletableFuture<Boolean> flushAsync() {
+        if (closed || snapshotsDisabled) return CompletableFuture.completedFuture(false);
+        List<TimerRecord> records = snapshot.get();
+        if (records == null) return CompletableFuture.completedFuture(false);
+        long upToSeq = seq;
+        return CompletableFuture.supplyAsync(() -> compact(records, upToSeq), writer);
+    }
+
+    /** Write a full snapshot now and wait for it, e.g. at shutdown; call on the owner thread. */
+    public void flush() {
+        try {
+            flushAsync().get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException ex) {
+            System.err.println("[ChronoX] Failed to save: " + ex.getCause());
+        }
+    }
+
+    /** Compact synchronously and stop the background writer. */
+    public void close() {
+        if (closed) return;
+        flush();
+        closed = true;
+        writer.shutdown();
+        try {
+            writer.awaitTermination(5, TimeUnit.SECONDS);
+            journal.close();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (IOException ignored) {
+        }
+    }
+
+    /** Queue an entry; everything queued before the writer gets to it goes out in one append */
+    private void submit(Entry entry) {
+        if (closed) return;
+        pending.add(entry);
+        if (drainQueued.compareAndSet(false, true)) writer.execute(this::drainPending);
+    }
+
+    private void drainPending() {
+        drainQueued.set(false);
+        List<Entry> entries = new ArrayList<>();
+        Entry entry;
+        while ((entry = pending.poll()) != null) entries.add(entry);
+        if (entries.isEmpty()) return;
+        try {
+            journal.append(entries);
+            journaledSeq = entries.get(entries.size() - 1).seq();
+            if (!compactionPending && !snapshotsDisabled && journal.size() > COMPACT_BYTES) {
+                compactionPending = true;
+                ownerExecutor.execute(this::compactInBackground);
+            }
+        } catch (IOException ex) {
+            System.err.println("[ChronoX] Failed to journal " + entries.size() + " entries: " + ex.getMessage());
+        }
+    }
+
+    private void compactInBackground() {
+        if (closed) return;
+        List<TimerRecord> records = snapshot.get();
+        if (records == null) {
+            writer.execute(() -> compactionPending = false); // retry after the next append
+            return;
+        }
+        long upToSeq = seq;
+        writer.execute(() -> compact(records, upToSeq));
+    }
+
+    /** Writer thread: write the snapshot, then drop the journal entries it covers */
+    private boolean compact(List<TimerRecord> records, long upToSeq) {
+        compactionPending = false;
+        if (!writeSnapshot(records, upToSeq)) return false;
+        try {
+            // a drain queued before this task may already have journaled entries past the snapshot
+            if (journaledSeq <= upToSeq) journal.truncate();
+            else journal.dropThrough(upToSeq);
+        } catch (IOException ex) {
+            System.err.println("[ChronoX] Failed to truncate journal: " + ex.getMessage());
+        }
+        return true;
+    }
+
+    /** Read the snapshot in whichever format it was written; returns the sequence number it covers */
+    private long readSnapshot(List<TimerRecord> out) throws IOException {
+        if (TimerBinaryFormat.isBinary(snapshotFile)) {
+            return TimerBinaryFormat.read(snapshotFile, out);
+        }
+        long snapshotSeq = 0;
+        try (BufferedReader in = Files.newBufferedReader(snapshotFile)) {
+            in.mark(256);
+            String first = in.readLine();
+            int consumed = 1;
+            if (first != null && first.startsWith(SEQ_HEADER)) {
+                snapshotSeq = Long.parseLong(first.substring(SEQ_HEADER.length()).trim());
+            } else {
+                in.reset();
+                consumed = 0;
+            }
+            out.addAll(TimerTextFormat.read(in, snapshotFile.getFileName().toString(), consumed));
+        }
+        return snapshotSeq;
+    }
+
+    private boolean writeSnapshot(List<TimerRecord> records, long upToSeq) {
+        Path tmp = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(snapshotFile.getParent());
+            if (binarySnapshots) {
+                TimerBinaryFormat.write(records, upToSeq, tmp);
+            } else {
+                try (BufferedWriter out = Files.newBufferedWriter(tmp)) {
+                    out.write(SEQ_HEADER + upToSeq + "\n");
+                    TimerTextFormat.write(records, out);
+                }
+            }
+            // On disk before the rename, or a power cut could leave an empty file behind the new name
+            try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+                ch.force(true);
+            }
+            try {
+                Files.move(tmp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(tmp, snapshotFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+            forceDirectory(snapshotFile.getParent()); // the rename itself, before the journal is truncated
+            System.out.println("[ChronoX] Saved " + records.size() + " timer(s) to " + snapshotFile);
+            return true;
+        } catch (IOException ex) {
+            System.err.println("[ChronoX] Failed to save: " + ex.getMessage());
+            return false;
+        }
+    }
+
+    /** Make a rename in {@code dir} durable; not every platform can open a directory, so best effort */
+    private static void forceDirectory(Path dir) {
+        try (FileChannel ch = FileChannel.open(dir, StandardOpenOption.READ)) {
+            ch.force(true);
+        } catch (IOException ignored) {
+        }
+    }
+
+    /** Apply journal entries newer than {@code snapshotSeq} on top of the snapshot records, which must all have ids */
+    static List<TimerRecord> replay(List<TimerRecord> base, long snapshotSeq, List<Entry> entries) {
+        Map<Long, TimerRecord> byId = new HashMap<>();
+        List<Long> order = new ArrayList<>(base.size());
+        for (TimerRecord r : base) {
+            if (byId.put(r.id(), r) == null) order.add(r.id());
+        }
+        for (Entry e : entries) {
+            if (e.seq() <= snapshotSeq) continue;
+            switch (e.op()) {
+                case CREATE -> {
+                    if (byId.put(e.id(), e.record()) == null) order.add(e.id());
+                }
+                case DELETE -> byId.remove(e.id()); // dropped from the order below
+                case REORDER -> {
+                    if (!byId.containsKey(e.id())) continue;
+                    order.remove(Long.valueOf(e.id()));
+                    int at = e.beforeId() != 0 ? order.indexOf(e.beforeId()) : -1;
+                    if (at < 0) order.add(e.id());
+                    else order.add(at, e.id());
+                }
+                default -> byId.computeIfPresent(e.id(), (id, old) -> e.record());
+            }
+        }
+        List<TimerRecord> result = new ArrayList<>(byId.size());
+        for (Long id : order) {
+            TimerRecord r = byId.remove(id);
+            if (r != null) result.add(r);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,197 @@
+package no.countdown.persistence;
+
+import no.countdown.model.CountdownTimer.TimeUnit;
+import no.countdown.persistence.TimerRecord.State;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The human-readable {@code key=value} block format of {@code timers.txt}. Blocks are
+ * separated by {@code ---}; lines starting with {@code #} are comments.
+ */
+public final class TimerTextFormat {
+
+    private TimerTextFormat() {}
+
+    public static void write(List<TimerRecord> records, Writer out) throws IOException {
+        for (TimerRecord r : records) {
+            if (r.id() != 0) out.write("id=" + r.id() + "\n");
+            out.write("name=" + r.name() + "\n");
+            out.write("description=" + r.description() + "\n");
+            out.write("className=" + r.className() + "\n");
+            out.write("originalAmount=" + r.originalAmount() + "\n");
+            out.write("originalUnit=" + (r.originalUnit() != null ? r.originalUnit().name() : "") + "\n");
+            out.write("totalSeconds=" + r.totalSeconds() + "\n");
+            switch (r.state()) {
+                case RUNNING -> {
+                    out.write("state=running\n");
+                    out.write("targetTime=" + r.targetTime() + "\n");
+                }
+                case PAUSED -> {
+                    out.write("state=paused\n");
+                    out.write("remainingSeconds=" + r.remainingSeconds() + "\n");
+                }
+                case FINISHED -> out.write("state=finished\n");
+                case IDLE -> out.write("state=idle\n");
+            }
+            out.write("---\n");
+        }
+    }
+
+    /**
+     * Stream blocks straight into records, one line at a time. Malformed blocks are
+     * reported on stderr with their line number ({@code source} names the input) and
+     * skipped; a bad number only defaults that field to 0.
+     */
+    public static List<TimerRecord> read(BufferedReader in, String source) throws IOException {
+        return read(in, source, 0);
+    }
+
+    /** As {@link #read(BufferedReader, String)}, for a reader already advanced past {@code linesConsumed} lines */
+    public static List<TimerRecord> read(BufferedReader in, String source, int linesConsumed) throws IOException {
+        List<TimerRecord> records = new ArrayList<>();
+        BlockParser block = new BlockParser(source);
+        String line;
+        int lineNo = linesConsumed;
+        while ((line = in.readLine()) != null) {
+            lineNo++;
+            if (line.equals("---")) {
+                block.finish(records);
+            } else if (!line.isEmpty() && line.charAt(0) != '#') {
+                block.accept(line, lineNo);
+            }
+        }
+        block.finish(records);
+        return records;
+    }
+
+    /** Mutable state of the block being read; reset after every {@code ---} */
+    private static final class BlockParser {
+        private final String source;
+        private int firstLine;
+        private int errorLine;
+        private String error;
+        private long id;
+        private long amount;
+        private long totalSeconds;
+        private long remainingSeconds;
+        private String name;
+        private String description;
+        private String className;
+        private TimeUnit unit;
+        private State state;
+        private LocalDateTime target;
+
+        BlockParser(String source) {
+            this.source = source;
+            reset();
+        }
+
+        void accept(String line, int lineNo) {
+            if (firstLine == 0) firstLine = lineNo;
+            int eq = line.indexOf('=');
+            if (eq <= 0) {
+                warn(lineNo, "expected key=value, ignoring line");
+                return;
+            }
+            int v = eq + 1;
+            if (isKey(line, eq, "name")) name = line.substring(v);
+            else if (isKey(line, eq, "description")) description = line.substring(v);
+            else if (isKey(line, eq, "className")) className = line.substring(v);
+            else if (isKey(line, eq, "id")) id = parseLong(line, v, lineNo);
+            else if (isKey(line, eq, "originalAmount")) amount = parseLong(line, v, lineNo);
+            else if (isKey(line, eq, "totalSeconds")) totalSeconds = parseLong(line, v, lineNo);
+            else if (isKey(line, eq, "remainingSeconds")) remainingSeconds = parseLong(line, v, lineNo);
+            else if (isKey(line, eq, "originalUnit")) unit = parseUnit(line, v, lineNo);
+            else if (isKey(line, eq, "state")) state = parseState(line, v, lineNo);
+            else if (isKey(line, eq, "targetTime")) {
+                try {
+                    target = LocalDateTime.parse(line.substring(v));
+                } catch (DateTimeParseException ex) {
+                    fail(lineNo, "unreadable targetTime '" + line.substring(v) + "'");
+                }
+            }
+            // unknown keys are ignored so newer files still load
+        }
+
+        void finish(List<TimerRecord> out) {
+            if (firstLine == 0) return; // empty block
+            if (error == null) {
+                if (name == null || name.isEmpty()) fail(firstLine, "missing name");
+                else if (unit == null) fail(firstLine, "missing originalUnit");
+                else if (state == State.RUNNING && target == null) fail(firstLine, "running timer without targetTime");
+            }
+            if (error != null) {
+                System.err.println("[ChronoX] " + source + ":" + errorLine + ": " + error
+                        + "; skipping block starting at line " + firstLine);
+            } else {
+                out.add(new TimerRecord(id, name, description, className, amount, unit, totalSeconds, state,
+                        state == State.RUNNING ? target : null, state == State.PAUSED ? remainingSeconds : 0));
+            }
+            reset();
+        }
+
+        private void reset() {
+            firstLine = 0;
+            errorLine = 0;
+            error = null;
+            id = amount = totalSeconds = remainingSeconds = 0;
+            name = null;
+            description = "";
+            className = "";
+            unit = null;
+            state = State.IDLE;
+            target = null;
+        }
+
+        private void fail(int lineNo, String message) {
+            if (error != null) return; // report the first problem only
+            error = message;
+            errorLine = lineNo;
+        }
+
+        private void warn(int lineNo, String message) {
+            System.err.println("[ChronoX] " + source + ":" + lineNo + ": " + message);
+        }
+
+        private long parseLong(String line, int from, int lineNo) {
+            try {
+                return Long.parseLong(line, from, line.length(), 10);
+            } catch (NumberFormatException ex) {
+                warn(lineNo, "bad number '" + line.substring(from) + "', using 0");
+                return 0;
+            }
+        }
+
+        private TimeUnit parseUnit(String line, int from, int lineNo) {
+            for (TimeUnit u : TimeUnit.values()) {
+                String n = u.name();
+                if (line.length() - from == n.length() && line.startsWith(n, from)) return u;
+            }
+            if (from < line.length()) fail(lineNo, "unknown originalUnit '" + line.substring(from) + "'");
+            return null;
+        }
+
+        private State parseState(String line, int from, int lineNo) {
+            if (isValue(line, from, "running")) return State.RUNNING;
+            if (isValue(line, from, "paused")) return State.PAUSED;
+            if (isValue(line, from, "finished")) return State.FINISHED;
+            if (!isValue(line, from, "idle")) warn(lineNo, "unknown state '" + line.substring(from) + "', treating as idle");
+            return State.IDLE;
+        }
+
+        private static boolean isKey(String line, int eq, String key) {
+            return eq == key.length() && line.startsWith(key);
+        }
+
+        private static boolean isValue(String line, int from, String value) {
+            return line.length() - from == value.length() && line.startsWith(value, from);
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package no.countdown.search;
+
+import no.countdown.model.CountdownTimer;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Trigram inverted index over each timer's name, description and class.
+ *
+ * <p>Every timer keeps its lower-cased text, so a match is one {@code contains} on a
+ * cached string. A query of three or more characters only checks the timers in the
+ * smallest posting list of its trigrams; shorter queries scan the cached texts. When a
+ * query extends the previous one (the user typed another character), only the previous
+ * result is checked.
+ *
+ * <p>Postings are append-only: an edit adds the trigrams the new text gained and leaves
+ * the lost ones behind as stale entries, which the {@code contains} check discards. The
+ * index is rebuilt once stale entries outnumber live ones.
+ *
+ * <p>Thread-safe: the owner thread keeps it up to date while {@link SearchPipeline} queries
+ * it on a worker thread.
+ */
+public class SearchIndex {
+
+    /** Joins the fields, so a query never matches across two of them */
+    private static final char SEPARATOR = '\n';
+    private static final int MIN_REBUILD = 1 << 16;
+    /** Loop iterations between checks for a cancelled query */
+    private static final int CANCEL_CHECK = 4096;
+
+    private final Map<CountdownTimer, Integer> slots = new IdentityHashMap<>();
+    private final Map<Long, Postings> postings = new HashMap<>();
+    private CountdownTimer[] timers = new CountdownTimer[64];
+    private String[] texts = new String[64];
+    private int slotCount = 0;
+    private long livePostings = 0;
+    private long stalePostings = 0;
+    private long modCount = 0;
+
+    private String lastQuery;
+    private Set<CountdownTimer> lastResult;
+
+    /** Growable list of slot numbers holding one trigram */
+    private static final class Postings {
+        int[] slots = new int[4];
+        int size;
+
+        void add(int slot) {
+            if (size == slots.length) slots = Arrays.copyOf(slots, size * 2);
+            slots[size++] = slot;
+        }
+    }
+
+    public synchronized void add(CountdownTimer timer) {
+        if (slots.containsKey(timer)) {
+            update(timer);
+            return;
+        }
+        if (slotCount == timers.length) {
+            timers = Arrays.copyOf(timers, slotCount * 2);
+            texts = Arrays.copyOf(texts, slotCount * 2);
+        }
+        int slot = slotCount++;
+        String text = textOf(timer);
+        modCount++;
+        slots.put(timer, slot);
+        timers[slot] = timer;
+        texts[slot] = text;
+        for (long gram : trigrams(text)) addPosting(gram, slot);
+        if (lastResult != null && text.contains(lastQuery)) lastResult.add(timer);
+    }
+
+    /** Re-index a timer after its name, description or class changed */
+    public synchronized void update(CountdownTimer timer) {
+        Integer slot = slots.get(timer);
+        if (slot == null) {
+            add(timer);
+            return;
+        }
+        String old = texts[slot];
+        String text = textOf(timer);
+        if (text.equals(old)) return;
+        modCount++;
+        Set<Long> before = trigrams(old);
+        for (long gram : trigrams(text)) {
+            if (!before.remove(gram)) addPosting(gram, slot);
+        }
+        stalePostings += before.size();
+        livePostings -= before.size();
+        texts[slot] = text;
+        if (lastResult != null) {
+            if (text.contains(lastQuery)) lastResult.add(timer);
+            else lastResult.remove(timer);
+        }
+        rebuildIfStale();
+    }
+
+    public synchronized void remove(CountdownTimer timer) {
+        Integer slot = slots.remove(timer);
+        if (slot == null) return;
+        modCount++;
+        int grams = trigrams(texts[slot]).size();
+        stalePostings += grams;
+        livePostings -= grams;
+        timers[slot] = null;
+        texts[slot] = null;
+        if (lastResult != null) lastResult.remove(timer);
+        rebuildIfStale();
+    }
+
+    public synchronized void clear() {
+        slots.clear();
+        postings.clear();
+        Arrays.fill(timers, 0, slotCount, null);
+        Arrays.fill(texts, 0, slotCount, null);
+        slotCount = 0;
+        livePostings = 0;
+        stalePostings = 0;
+        lastQuery = null;
+        lastResult = null;
+    }
+
+    public synchronized int size() {
+        return slots.size();
+    }
+
+    /** Bumped by every add, edit and removal, so a caller can tell a result went stale */
+    public synchronized long getModCount() {
+        return modCount;
+    }
+
+    /** True if the timer's name, description or class contains the query, ignoring case */
+    public synchronized boolean matches(CountdownTimer timer, String query) {
+        Integer slot = slots.get(timer);
+        String text = slot != null ? texts[slot] : textOf(timer);
+        return text.contains(normalize(query));
+    }
+
+    /**
+     * Every timer matching the text query (empty = any) and, if {@code within} is not
+     * null, contained in it, as a new set owned by the caller. Returns null if the query
+     * is empty and {@code within} is null, meaning every timer matches, and also null if
+     * {@code cancelled} turns true before the scan completes.
+     */
+    public synchronized Set<CountdownTimer> query(String query, Set<CountdownTimer> within, BooleanSupplier cancelled) {
+        String q = normalize(query);
+        if (within != null) {
+            // Restricted, e.g. to one class: checking the members directly beats any text scan
+            Set<CountdownTimer> result = newSet();
+            for (CountdownTimer timer : within) {
+                Integer slot = slots.get(timer);
+                if (slot != null && texts[slot].contains(q)) result.add(timer);
+            }
+            return result;
+        }
+        if (q.isEmpty()) return null;
+        Set<CountdownTimer> hits = textQuery(q, cancelled);
+        if (hits == null) return null;
+        Set<CountdownTimer> result = newSet();
+        result.addAll(hits);
+        return result;
+    }
+
+    private Set<CountdownTimer> textQuery(String q, BooleanSupplier cancelled) {
+        Set<CountdownTimer> result = newSet();
+        if (lastResult != null && q.contains(lastQuery)) {
+            // Refine: the new query can only match a subset of the previous result
+            for (CountdownTimer timer : lastResult) {
+                if (texts[slots.get(timer)].contains(q)) result.add(timer);
+            }
+        } else if (q.length() >= 3) {
+            Postings smallest = null;
+            for (int i = 0; i + 3 <= q.length(); i++) {
+                Postings p = postings.get(gram(q, i));
+                if (p == null) {
+                    smallest = null;
+                    break;
+                }
+                if (smallest == null || p.size < smallest.size) smallest = p;
+            }
+            if (smallest != null) {
+                for (int i = 0; i < smallest.size; i++) {
+                    if (i % CANCEL_CHECK == 0 && cancelled.getAsBoolean()) return null;
+                    int slot = smallest.slots[i];
+                    if (timers[slot] != null && texts[slot].contains(q)) result.add(timers[slot]);
+                }
+            }
+        } else {
+            for (int slot = 0; slot < slotCount; slot++) {
+                if (slot % CANCEL_CHECK == 0 && cancelled.getAsBoolean()) return null;
+                if (timers[slot] != null && texts[slot].contains(q)) result.add(timers[slot]);
+            }
+        }
+        lastQuery = q;
+        lastResult = result;
+        return result;
+    }
+
+    public static String normalize(String s) {
+        return s == null ? "" : s.toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<CountdownTimer> newSet() {
+        return Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+
+    private static String textOf(CountdownTimer timer) {
+        return normalize(timer.getThemeName()) + SEPARATOR
+                + normalize(timer.getDescription()) + SEPARATOR
+                + normalize(timer.getClassName());
+    }
+
+    private void addPosting(long gram, int slot) {
+        postings.computeIfAbsent(gram, g -> new Postings()).add(slot);
+        livePostings++;
+    }
+
+    private void rebuildIfStale() {
+        if (stalePostings < MIN_REBUILD || stalePostings < livePostings) return;
+        CountdownTimer[] live = new CountdownTimer[slots.size()];
+        int n = 0;
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (timers[slot] != null) live[n++] = timers[slot];
+        }
+        String query = lastQuery;
+        Set<CountdownTimer> result = lastResult;
+        clear();
+        for (CountdownTimer timer : live) add(timer);
+        lastQuery = query;
+        lastResult = result;
+    }
+
+    private static Set<Long> trigrams(String text) {
+        Set<Long> grams = new HashSet<>();
+        for (int i = 0; i + 3 <= text.length(); i++) grams.add(gram(text, i));
+        return grams;
+    }
+
+    private static long gram(String s, int i) {
+        return ((long) s.charAt(i) << 32) | ((long) s.charAt(i + 1) << 16) | s.charAt(i + 2);
+    }
+}
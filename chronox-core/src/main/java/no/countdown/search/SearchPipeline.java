@@ -0,0 +1,87 @@
+package no.countdown.search;
+
+import no.countdown.model.CountdownTimer;
+
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Evaluates list filters off the owner thread. Each submitted query waits out its
+ * debounce delay and then runs against the {@link SearchIndex} on a worker thread. A newer
+ * submission cancels the pending one, stops one already running, and discards any result
+ * that is no longer the latest, so only the most recent filter reaches the list.
+ */
+public class SearchPipeline {
+
+    /** Text to search for (may be empty) and the class to restrict to (null = any) */
+    public record Query(String text, String className) {
+        public boolean isEmpty() {
+            return text.isEmpty() && className == null;
+        }
+    }
+
+    /**
+     * Timers matching a query, or null for every timer, as of the index's
+     * {@link SearchIndex#getModCount() modCount}; if that has moved on by the time the
+     * result is applied, timers added or edited since must be checked individually.
+     */
+    public record Result(Query query, Set<CountdownTimer> matches, long modCount) {}
+
+    private final SearchIndex index;
+    private final Function<String, Set<CountdownTimer>> classMembers;
+    private final Executor ownerExecutor;
+    private final Consumer<Result> publish;
+    private final AtomicLong generation = new AtomicLong();
+    private final ScheduledExecutorService worker = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "chronox-search");
+        t.setDaemon(true);
+        return t;
+    });
+    private ScheduledFuture<?> pending;
+
+    /**
+     * {@code classMembers} looks up the timers in a class and must be safe to call from the
+     * worker. Results are handed to {@code publish} through {@code ownerExecutor}, e.g.
+     * Platform::runLater.
+     */
+    public SearchPipeline(SearchIndex index, Function<String, Set<CountdownTimer>> classMembers,
+                          Executor ownerExecutor, Consumer<Result> publish) {
+        this.index = index;
+        this.classMembers = classMembers;
+        this.ownerExecutor = ownerExecutor;
+        this.publish = publish;
+    }
+
+    /** Evaluate {@code query} after {@code debounceMillis}, superseding every earlier submission */
+    public synchronized void submit(Query query, long debounceMillis) {
+        long gen = generation.incrementAndGet();
+        if (pending != null) pending.cancel(false);
+        if (worker.isShutdown()) return;
+        pending = worker.schedule(() -> evaluate(query, gen), debounceMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void close() {
+        generation.incrementAndGet();
+        worker.shutdownNow();
+    }
+
+    private void evaluate(Query query, long gen) {
+        if (gen != generation.get()) return;
+        long modCount = index.getModCount(); // read first, so it can only understate freshness
+        Set<CountdownTimer> within = query.className() != null ? classMembers.apply(query.className()) : null;
+        Set<CountdownTimer> matches = query.isEmpty() ? null
+                : index.query(query.text(), within, () -> gen != generation.get());
+        if (gen != generation.get()) return; // superseded while running
+        Result result = new Result(query, matches, modCount);
+        ownerExecutor.execute(() -> {
+            if (gen == generation.get()) publish.accept(result);
+        });
+    }
+}
@@ -0,0 +1,100 @@
+package no.countdown.engine;
+
+import no.countdown.model.CountdownTimer;
+import no.countdown.model.CountdownTimer.TimeUnit;
+import no.countdown.model.VirtualTimeSource;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TickSchedulerTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    private final VirtualTimeSource clock = new VirtualTimeSource(Instant.parse("2026-01-01T00:00:00Z"));
+    private final VirtualWakeupSource wakeups = new VirtualWakeupSource(clock);
+    private final List<Long> expiredAt = new ArrayList<>();
+    private final List<List<CountdownTimer>> batches = new ArrayList<>();
+    private int ticks = 0;
+    private final TickScheduler scheduler = new TickScheduler(new TickScheduler.TickListener() {
+        @Override
+        public void onTimersExpired(List<CountdownTimer> expired, boolean opened) {
+            for (CountdownTimer t : expired) expiredAt.add(clock.nanoTime());
+        }
+
+        @Override
+        public void onExpiryBatch(List<CountdownTimer> batch) {
+            batches.add(List.copyOf(batch));
+        }
+
+        @Override
+        public void onTick(long nowNanos) {
+            ticks++;
+        }
+    }, clock, Runnable::run, wakeups);
+
+    @Test
+    void timersFinishAtTheirDeadlineAndAreBatchedAtTheNextTick() {
+        CountdownTimer a = start(1);
+        CountdownTimer b = start(1);
+        CountdownTimer c = start(2);
+
+        wakeups.runUntil(60 * SECOND - 1);
+        assertTrue(expiredAt.isEmpty());
+        assertEquals(59, ticks);
+
+        wakeups.runUntil(60 * SECOND);
+        assertEquals(List.of(60 * SECOND, 60 * SECOND), expiredAt);
+        assertTrue(a.isFinished() && b.isFinished());
+        assertEquals(1, batches.size());
+        assertEquals(2, batches.get(0).size());
+
+        wakeups.runUntil(10 * 60 * SECOND);
+        assertTrue(c.isFinished());
+        assertEquals(120 * SECOND, expiredAt.get(2));
+        assertEquals(120, ticks); // stops once nothing runs
+    }
+
+    @Test
+    void pausedTimersDoNotExpire() {
+        CountdownTimer a = start(1);
+        wakeups.runUntil(30 * SECOND);
+        a.pause();
+        scheduler.schedule(a);
+        wakeups.runUntil(10 * 60 * SECOND);
+        assertFalse(a.isFinished());
+        assertTrue(expiredAt.isEmpty());
+        assertFalse(scheduler.isScheduled(a));
+    }
+
+    @Test
+    void suspendMovesDeadlinesToTheirWallClockTarget() {
+        CountdownTimer a = start(10);
+        CountdownTimer b = start(120);
+        wakeups.runUntil(60 * SECOND);
+
+        clock.suspend(Duration.ofMinutes(30));
+        scheduler.setDisplaySuspended(true); // the capped wake-up alone must notice
+        wakeups.runUntil(70 * SECOND);
+
+        assertTrue(a.isFinished());
+        assertFalse(b.isFinished());
+        assertEquals(b.getTargetTime(), clock.toLocalDateTime(b.getDeadlineNanos()));
+        b.updateRemaining(clock.nanoTime());
+        assertEquals(120 * 60 - 30 * 60 - 70, b.getRemainingSeconds());
+    }
+
+    private CountdownTimer start(long minutes) {
+        CountdownTimer timer = new CountdownTimer("t", "", "", clock);
+        timer.startCountdown(minutes, TimeUnit.MINUTES);
+        scheduler.schedule(timer);
+        return timer;
+    }
+}
@@ -0,0 +1,101 @@
+package no.countdown.model;
+
+import no.countdown.model.CountdownTimer.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimerTableTest {
+
+    private final VirtualTimeSource clock = new VirtualTimeSource(Instant.parse("2026-01-01T00:00:00Z"));
+
+    @Test
+    void removedHandleCannotBeRevived() {
+        TimerTable table = new TimerTable(clock);
+        int a = table.add("a", "", "work");
+        table.remove(a);
+
+        assertThrows(IllegalArgumentException.class, () -> table.start(a, 5, TimeUnit.MINUTES));
+        assertThrows(IllegalArgumentException.class, () -> table.pause(a));
+        assertThrows(IllegalArgumentException.class, () -> table.resume(a));
+        assertThrows(IllegalArgumentException.class, () -> table.reset(a));
+        assertThrows(IllegalArgumentException.class, () -> table.restart(a));
+        assertThrows(IllegalArgumentException.class,
+                () -> table.restoreRunning(a, 5, TimeUnit.MINUTES, 300, LocalDateTime.of(2026, 1, 1, 0, 5)));
+        assertThrows(IllegalArgumentException.class, () -> table.restorePaused(a, 5, TimeUnit.MINUTES, 300, 60));
+        assertThrows(IllegalArgumentException.class, () -> table.restoreFinished(a, 5, TimeUnit.MINUTES, 300));
+        assertThrows(IllegalArgumentException.class, () -> table.setId(a, 7));
+        assertThrows(IllegalArgumentException.class, () -> table.setThemeName(a, "x"));
+        assertThrows(IllegalArgumentException.class, () -> table.setDescription(a, "x"));
+        assertThrows(IllegalArgumentException.class, () -> table.setClassName(a, "x"));
+        assertThrows(IllegalArgumentException.class, () -> table.row(a));
+
+        assertEquals(0, table.size());
+        assertFalse(table.contains(a));
+    }
+
+    @Test
+    void freedSlotHasOneOwner() {
+        TimerTable table = new TimerTable(clock);
+        int a = table.add("a", "", "");
+        int b = table.add("b", "", "");
+        table.remove(a);
+        assertThrows(IllegalArgumentException.class, () -> table.start(a, 1, TimeUnit.HOURS));
+
+        int c = table.add("c", "", "");
+        int d = table.add("d", "", "");
+        assertNotEquals(c, d);
+        assertEquals(3, table.size());
+        assertEquals("c", table.row(c).getThemeName());
+        assertEquals("d", table.row(d).getThemeName());
+        assertEquals("b", table.row(b).getThemeName());
+    }
+
+    @Test
+    void staleHandleIsRejectedAfterItsSlotIsReused() {
+        TimerTable table = new TimerTable(clock);
+        int old = table.add("old", "", "home");
+        TimerTable.Row oldRow = table.row(old);
+        table.remove(old);
+        int reused = table.add("new", "", "work");
+        table.start(reused, 5, TimeUnit.MINUTES);
+
+        assertNotEquals(old, reused);
+        assertFalse(table.contains(old));
+        assertThrows(IllegalArgumentException.class, () -> table.row(old));
+        assertThrows(IllegalArgumentException.class, () -> table.pause(old));
+        assertThrows(IllegalArgumentException.class, () -> table.setThemeName(old, "x"));
+        assertThrows(IllegalArgumentException.class, () -> table.classIdOf(old));
+        assertThrows(IllegalArgumentException.class, oldRow::getThemeName);
+        assertThrows(IllegalArgumentException.class, oldRow::isRunning);
+        assertThrows(IllegalArgumentException.class, oldRow::getDeadlineNanos);
+        table.remove(old); // a no-op, not a removal of the new row
+
+        assertEquals(1, table.size());
+        assertEquals("new", table.row(reused).getThemeName());
+        assertEquals("work", table.className(table.classIdOf(reused)));
+        assertTrue(table.row(reused).isRunning());
+    }
+
+    @Test
+    void rowsFinishAtTheirDeadline() {
+        TimerTable table = new TimerTable(clock);
+        int h = table.add("a", "", "");
+        table.start(h, 5, TimeUnit.MINUTES);
+        assertTrue(table.row(h).isRunning());
+        clock.advanceNanos(300_000_000_000L - 1);
+        assertEquals(1, table.sweep(clock.nanoTime(), x -> {}));
+        clock.advanceNanos(1);
+        int[] expired = {-1};
+        assertEquals(0, table.sweep(clock.nanoTime(), x -> expired[0] = x));
+        assertEquals(h, expired[0]);
+        assertTrue(table.row(h).isFinished());
+    }
+}
@@ -0,0 +1,76 @@
+package no.countdown.persistence;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimerBinaryFormatTest {
+
+    /** magic, version, reserved, seq, count */
+    private static final int HEADER_BYTES = 4 + 2 + 2 + 8 + 4;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void roundTrips() throws IOException {
+        Path file = write(3);
+        List<TimerRecord> read = new ArrayList<>();
+        assertEquals(3, TimerBinaryFormat.read(file, read));
+        assertEquals(records(3), read);
+    }
+
+    @Test
+    void truncatedFileThrowsAndAddsNothing() throws IOException {
+        Path file = write(3);
+        byte[] bytes = Files.readAllBytes(file);
+        for (int length : new int[] {0, 10, HEADER_BYTES + 2, HEADER_BYTES + 8, bytes.length - 1}) {
+            Files.write(file, Arrays.copyOf(bytes, length));
+            List<TimerRecord> read = new ArrayList<>();
+            assertThrows(IOException.class, () -> TimerBinaryFormat.read(file, read), "length " + length);
+            assertTrue(read.isEmpty(), "length " + length);
+        }
+    }
+
+    @Test
+    void absurdCountsAreRejectedBeforeAllocating() throws IOException {
+        Path file = write(3);
+        byte[] bytes = Files.readAllBytes(file);
+        ByteBuffer.wrap(bytes).putInt(HEADER_BYTES - 4, Integer.MAX_VALUE); // timer count
+        Files.write(file, bytes);
+        assertThrows(IOException.class, () -> TimerBinaryFormat.read(file, new ArrayList<>()));
+
+        bytes = Files.readAllBytes(write(3));
+        ByteBuffer.wrap(bytes).putInt(HEADER_BYTES, Integer.MAX_VALUE); // class count
+        Files.write(file, bytes);
+        assertThrows(IOException.class, () -> TimerBinaryFormat.read(file, new ArrayList<>()));
+
+        bytes = Files.readAllBytes(write(3));
+        ByteBuffer.wrap(bytes).putInt(HEADER_BYTES + 4, -5); // first class name length
+        Files.write(file, bytes);
+        assertThrows(IOException.class, () -> TimerBinaryFormat.read(file, new ArrayList<>()));
+    }
+
+    private Path write(int count) throws IOException {
+        Path file = dir.resolve("timers.snapshot");
+        TimerBinaryFormat.write(records(count), count, file);
+        return file;
+    }
+
+    private static List<TimerRecord> records(int count) {
+        List<TimerRecord> records = new ArrayList<>();
+        for (int i = 1; i <= count; i++) records.add(TimerJournalTest.record(i, "T" + i));
+        return records;
+    }
+}
@@ -0,0 +1,121 @@
+package no.countdown.persistence;
+
+import no.countdown.model.CountdownTimer.TimeUnit;
+import no.countdown.persistence.TimerJournal.Entry;
+import no.countdown.persistence.TimerJournal.Op;
+import no.countdown.persistence.TimerRecord.State;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TimerJournalTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void entriesAppendedAfterATornTailAreReplayed() throws IOException {
+        Path file = dir.resolve("timers.journal");
+        try (TimerJournal journal = new TimerJournal(file)) {
+            journal.append(create(1, "A"));
+            journal.append(create(2, "B"));
+        }
+        long intact = Files.size(file);
+        Files.write(file, new byte[] {0, 0, 0, 40, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        try (TimerJournal journal = new TimerJournal(file)) {
+            assertEquals(List.of("A", "B"), names(journal.recover()));
+            assertEquals(intact, Files.size(file));
+            journal.append(create(3, "C"));
+        }
+
+        assertEquals(List.of("A", "B", "C"), names(TimerJournal.read(file)));
+    }
+
+    @Test
+    void entriesAppendedAfterAChecksumMismatchAreReplayed() throws IOException {
+        Path file = dir.resolve("timers.journal");
+        try (TimerJournal journal = new TimerJournal(file)) {
+            journal.append(create(1, "A"));
+            journal.append(create(2, "B"));
+        }
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 1] ^= 0x55;
+        Files.write(file, bytes);
+
+        try (TimerJournal journal = new TimerJournal(file)) {
+            assertEquals(List.of("A"), names(journal.recover()));
+            journal.append(List.of(create(3, "C"), create(4, "D")));
+        }
+
+        assertEquals(List.of("A", "C", "D"), names(TimerJournal.read(file)));
+    }
+
+    @Test
+    void descriptionsOver64KbRoundTrip() throws IOException {
+        Path file = dir.resolve("timers.journal");
+        String description = "ø".repeat(70_000) + "end"; // 140 KB of UTF-8
+        TimerRecord big = new TimerRecord(2, "B", description, "work", 5, TimeUnit.MINUTES, 300, State.PAUSED, null, 120);
+        try (TimerJournal journal = new TimerJournal(file)) {
+            journal.append(List.of(create(1, "A"), new Entry(2, Op.EDIT, 2, big, 0), create(3, "C")));
+        }
+
+        List<Entry> read = TimerJournal.read(file);
+        assertEquals(List.of("A", "B", "C"), names(read));
+        assertEquals(big, read.get(1).record());
+    }
+
+    @Test
+    void entriesFromBeforeLongStringsAreStillRead() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream payload = new DataOutputStream(bytes);
+        payload.writeLong(1);
+        payload.writeByte(Op.CREATE.ordinal());
+        payload.writeLong(1);
+        payload.writeUTF("old");
+        payload.writeUTF("");
+        payload.writeUTF("work");
+        payload.writeLong(5);
+        payload.writeByte(TimeUnit.MINUTES.ordinal());
+        payload.writeLong(300);
+        payload.writeByte(State.PAUSED.ordinal());
+        payload.writeBoolean(false);
+        payload.writeLong(120);
+        byte[] body = bytes.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        ByteBuffer frame = ByteBuffer.allocate(8 + body.length).putInt(body.length).putInt((int) crc.getValue()).put(body);
+        Path file = dir.resolve("timers.journal");
+        Files.write(file, frame.array());
+
+        try (TimerJournal journal = new TimerJournal(file)) {
+            assertEquals(List.of("old"), names(journal.recover()));
+            journal.append(create(2, "new"));
+        }
+        assertEquals(List.of("old", "new"), names(TimerJournal.read(file)));
+        assertEquals(record(1, "old"), TimerJournal.read(file).get(0).record());
+    }
+
+    static Entry create(long id, String name) {
+        return new Entry(id, Op.CREATE, id, record(id, name), 0);
+    }
+
+    static TimerRecord record(long id, String name) {
+        return new TimerRecord(id, name, "", "work", 5, TimeUnit.MINUTES, 300, State.PAUSED, null, 120);
+    }
+
+    private static List<String> names(List<Entry> entries) {
+        return entries.stream().map(e -> e.record().name()).toList();
+    }
+}
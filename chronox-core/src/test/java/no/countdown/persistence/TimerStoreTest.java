@@ -0,0 +1,147 @@
+package no.countdown.persistence;
+
+import no.countdown.persistence.TimerJournal.Op;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimerStoreTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void unreadableSnapshotIsMovedAsideAndNeverOverwritten() throws IOException {
+        byte[] corrupt = "# chronox snapshot seq=12x\n[Timer]\nname=A\n".getBytes();
+        Files.write(dir.resolve("timers.snapshot"), corrupt);
+
+        List<TimerRecord> live = new ArrayList<>();
+        TimerStore store = new TimerStore(dir, () -> live, Runnable::run);
+        assertTrue(store.load().isEmpty());
+        live.add(TimerJournalTest.record(store.nextId(), "B"));
+        store.append(Op.CREATE, live.get(0));
+        store.flush();
+        store.close();
+
+        assertFalse(Files.exists(dir.resolve("timers.snapshot")));
+        Path aside = corruptCopy();
+        assertArrayEquals(corrupt, Files.readAllBytes(aside));
+        List<TimerRecord> reloaded = new TimerStore(dir, List::of, Runnable::run).load();
+        assertEquals(List.of("B"), reloaded.stream().map(TimerRecord::name).toList());
+    }
+
+    @Test
+    void truncatedBinarySnapshotIsMovedAside() throws IOException {
+        List<TimerRecord> records = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) records.add(TimerJournalTest.record(i, "T" + i));
+        Path snapshot = dir.resolve("timers.snapshot");
+        TimerBinaryFormat.write(records, 3, snapshot);
+        byte[] whole = Files.readAllBytes(snapshot);
+        byte[] truncated = Arrays.copyOf(whole, 30); // cut inside the string table
+        Files.write(snapshot, truncated);
+
+        List<TimerRecord> live = new ArrayList<>();
+        TimerStore store = new TimerStore(dir, () -> live, Runnable::run);
+        live.addAll(store.load());
+        store.close();
+
+        assertTrue(live.isEmpty());
+        assertFalse(Files.exists(snapshot));
+        assertArrayEquals(truncated, Files.readAllBytes(corruptCopy()));
+    }
+
+    @Test
+    void compactionShrinksTheJournalWhenNewerEntriesAreAlreadyJournaled() throws Exception {
+        List<TimerRecord> live = new ArrayList<>();
+        Queue<Runnable> ownerTasks = new ConcurrentLinkedQueue<>();
+        TimerStore store = new TimerStore(dir, () -> new ArrayList<>(live), ownerTasks::add);
+        store.load();
+        live.add(TimerJournalTest.record(store.nextId(), "A"));
+        store.append(Op.CREATE, live.get(0));
+        while (ownerTasks.isEmpty()) {
+            for (int i = 0; i < 1000; i++) store.append(Op.EDIT, live.get(0));
+            awaitWriter(store);
+        }
+        Path journal = dir.resolve("timers.journal");
+        assertTrue(Files.size(journal) > TimerStore.COMPACT_BYTES);
+
+        // A drain queued before the compaction journals entries the snapshot does not cover
+        CountDownLatch gate = new CountDownLatch(1);
+        store.writer.execute(() -> {
+            try {
+                gate.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        live.add(TimerJournalTest.record(store.nextId(), "B"));
+        store.append(Op.CREATE, live.get(1));
+        ownerTasks.poll().run(); // captures the snapshot, queues the compaction behind the drain
+        live.add(TimerJournalTest.record(store.nextId(), "C"));
+        store.append(Op.CREATE, live.get(2));
+        gate.countDown();
+        awaitWriter(store);
+
+        assertTrue(Files.size(journal) < 1024, "journal is " + Files.size(journal) + " bytes");
+        assertEquals(List.of("C"), TimerJournal.read(journal).stream().map(e -> e.record().name()).toList());
+        store.close();
+        List<TimerRecord> reloaded = new TimerStore(dir, List::of, Runnable::run).load();
+        assertEquals(List.of("A", "B", "C"), reloaded.stream().map(TimerRecord::name).toList());
+    }
+
+    @Test
+    void exportLeavesTheDirectoryAsItFoundIt() throws IOException {
+        Path legacy = dir.resolve("timers.txt");
+        try (var out = Files.newBufferedWriter(legacy)) {
+            TimerTextFormat.write(List.of(TimerJournalTest.record(0, "A")), out);
+        }
+        Path journalFile = dir.resolve("timers.journal");
+        try (TimerJournal journal = new TimerJournal(journalFile)) {
+            journal.append(TimerJournalTest.create(1, "B"));
+        }
+        Files.write(journalFile, new byte[] {0, 0, 0, 9}, StandardOpenOption.APPEND); // torn tail
+        byte[] legacyBytes = Files.readAllBytes(legacy);
+        byte[] journalBytes = Files.readAllBytes(journalFile);
+        Path out = Files.createTempFile("chronox-export", ".txt");
+        try {
+            assertEquals(2, TimerStore.exportText(dir, out));
+        } finally {
+            Files.delete(out);
+        }
+
+        try (Stream<Path> files = Files.list(dir)) {
+            assertEquals(List.of("timers.journal", "timers.txt"),
+                    files.map(p -> p.getFileName().toString()).sorted().toList());
+        }
+        assertArrayEquals(legacyBytes, Files.readAllBytes(legacy));
+        assertArrayEquals(journalBytes, Files.readAllBytes(journalFile));
+    }
+
+    private static void awaitWriter(TimerStore store) throws Exception {
+        store.writer.submit(() -> {}).get();
+    }
+
+    private Path corruptCopy() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            List<Path> copies = files.filter(f -> f.getFileName().toString().startsWith("timers.snapshot.corrupt-")).toList();
+            assertEquals(1, copies.size());
+            return copies.get(0);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package no.countdown.search;
+
+import no.countdown.model.CountdownTimer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class SearchIndexTest {
+
+    /** Few letters, so short queries and shared trigrams are common */
+    private static final String ALPHABET = "abcAB ";
+
+    private final Random random = new Random(42);
+
+    @Test
+    void queriesMatchContainsThroughChurn() {
+        SearchIndex index = new SearchIndex();
+        List<CountdownTimer> live = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            CountdownTimer timer = new CountdownTimer(text(8), text(12), text(3));
+            live.add(timer);
+            index.add(timer);
+        }
+
+        for (int round = 0; round < 400; round++) {
+            switch (random.nextInt(4)) {
+                case 0 -> {
+                    CountdownTimer timer = new CountdownTimer(text(8), text(12), text(3));
+                    live.add(timer);
+                    index.add(timer);
+                }
+                case 1 -> {
+                    if (live.isEmpty()) break;
+                    CountdownTimer timer = live.get(random.nextInt(live.size()));
+                    switch (random.nextInt(3)) {
+                        case 0 -> timer.setThemeName(text(8));
+                        case 1 -> timer.setDescription(text(12));
+                        default -> timer.setClassName(text(3));
+                    }
+                    index.update(timer);
+                }
+                case 2 -> {
+                    if (live.isEmpty()) break;
+                    index.remove(live.remove(random.nextInt(live.size())));
+                }
+                default -> {}
+            }
+            // A run of queries that extend each other exercises the refine path too
+            String query = letters(1 + random.nextInt(2));
+            for (int extra = 0; extra < 3; extra++) {
+                assertEquals(expected(live, query), index.query(query, null, () -> false), "query '" + query + "'");
+                query += ALPHABET.charAt(random.nextInt(ALPHABET.length()));
+            }
+            assertEquals(live.size(), index.size());
+        }
+    }
+
+    @Test
+    void restrictedQueryChecksOnlyTheGivenTimers() {
+        SearchIndex index = new SearchIndex();
+        List<CountdownTimer> live = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            CountdownTimer timer = new CountdownTimer(text(8), text(12), text(3));
+            live.add(timer);
+            index.add(timer);
+        }
+        List<CountdownTimer> within = live.subList(0, 50);
+        Set<CountdownTimer> withinSet = identitySet(within);
+
+        for (int i = 0; i < 100; i++) {
+            String query = letters(random.nextInt(5));
+            assertEquals(expected(within, query), index.query(query, withinSet, () -> false), "query '" + query + "'");
+        }
+        assertNull(index.query("", null, () -> false));
+    }
+
+    private Set<CountdownTimer> expected(List<CountdownTimer> timers, String query) {
+        String q = SearchIndex.normalize(query);
+        Set<CountdownTimer> result = identitySet(List.of());
+        for (CountdownTimer timer : timers) {
+            if (SearchIndex.normalize(timer.getThemeName()).contains(q)
+                    || SearchIndex.normalize(timer.getDescription()).contains(q)
+                    || SearchIndex.normalize(timer.getClassName()).contains(q)) {
+                result.add(timer);
+            }
+        }
+        return result;
+    }
+
+    private static Set<CountdownTimer> identitySet(List<CountdownTimer> timers) {
+        Set<CountdownTimer> set = Collections.newSetFromMap(new IdentityHashMap<>());
+        set.addAll(timers);
+        return set;
+    }
+
+    private String text(int maxLength) {
+        return letters(random.nextInt(maxLength + 1));
+    }
+
+    private String letters(int length) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < length; i++) sb.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        return sb.toString();
+    }
+}
@@ -1,12 +1,12 @@
 module no.countdown {
+    requires no.countdown.core;
     requires javafx.controls;
     requires java.desktop;
 
     exports no.countdown;
-    exports no.countdown.model;
+    exports no.countdown.fx;
     exports no.countdown.ui;
 
     opens no.countdown to javafx.controls;
-    opens no.countdown.model to javafx.controls;
     opens no.countdown.ui to javafx.controls;
 }
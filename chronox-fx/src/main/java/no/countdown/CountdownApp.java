@@ -0,0 +1,64 @@
+package no.countdown;
+
+import javafx.application.Application;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+import no.countdown.persistence.TimerStore;
+import no.countdown.ui.StartupMetrics;
+import no.countdown.ui.TimerController;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+public class CountdownApp extends Application {
+
+    private static final long LAUNCH_NANOS = System.nanoTime();
+
+    private TimerController controller;
+
+    @Override
+    public void start(Stage primaryStage) {
+        StartupMetrics metrics = new StartupMetrics(LAUNCH_NANOS);
+        controller = new TimerController();
+        Scene scene = new Scene(controller, 900, 650);
+        scene.getStylesheets().add(getClass().getResource("/styles.css").toExternalForm());
+        Runnable firstFrame = new Runnable() {
+            @Override
+            public void run() {
+                metrics.markFirstFrame();
+                scene.removePostLayoutPulseListener(this);
+            }
+        };
+        scene.addPostLayoutPulseListener(firstFrame);
+        primaryStage.setTitle("ChronoX");
+        primaryStage.setScene(scene);
+        // Low-power mode: stop rendering while minimized, slow the list down while unfocused
+        primaryStage.iconifiedProperty().addListener((obs, was, now) -> controller.setRenderingSuspended(now));
+        primaryStage.focusedProperty().addListener((obs, was, now) -> controller.setRenderingThrottled(!now));
+        primaryStage.show();
+
+        // The window is up; saved timers stream in behind it
+        controller.loadTimersAsync(metrics);
+    }
+
+    @Override
+    public void stop() {
+        if (controller != null) {
+            controller.shutdown();
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 2 && args[0].equals("--export")) {
+            int n = TimerStore.exportText(TimerStore.DEFAULT_DIR, Paths.get(args[1]));
+            System.out.println("[ChronoX] Exported " + n + " timer(s) to " + args[1]);
+            return;
+        }
+        if (args.length == 2 && args[0].equals("--import")) {
+            int n = TimerStore.importText(TimerStore.DEFAULT_DIR, Paths.get(args[1]));
+            System.out.println("[ChronoX] Imported " + n + " timer(s) from " + args[1]);
+            return;
+        }
+        launch(args);
+    }
+}
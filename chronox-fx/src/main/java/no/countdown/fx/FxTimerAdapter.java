@@ -0,0 +1,38 @@
+package no.countdown.fx;
+
+import no.countdown.model.CountdownTimer;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Hands out {@link ObservableTimer}s for the timers the UI is currently observing, and
+ * only for those: every other timer stays a plain core object with no property
+ * allocations or listeners. Observations are counted, so two views of the same timer
+ * share one set of properties. FX thread only.
+ */
+public class FxTimerAdapter {
+
+    private static final class Observation {
+        final ObservableTimer properties;
+        int count;
+
+        Observation(CountdownTimer timer) {
+            this.properties = new ObservableTimer(timer);
+        }
+    }
+
+    private final Map<CountdownTimer, Observation> observed = new IdentityHashMap<>();
+
+    /** Start observing a timer; pair every call with {@link #release} */
+    public ObservableTimer observe(CountdownTimer timer) {
+        Observation o = observed.computeIfAbsent(timer, Observation::new);
+        o.count++;
+        return o.properties;
+    }
+
+    public void release(CountdownTimer timer) {
+        Observation o = observed.get(timer);
+        if (o != null && --o.count == 0) observed.remove(timer);
+    }
+}
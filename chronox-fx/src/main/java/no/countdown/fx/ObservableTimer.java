@@ -0,0 +1,120 @@
+package no.countdown.fx;
+
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.beans.property.ReadOnlyLongProperty;
+import javafx.beans.property.ReadOnlyLongWrapper;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
+import no.countdown.model.CountdownTimer;
+
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+/**
+ * JavaFX properties mirroring one core {@link CountdownTimer}. The timer stays the source
+ * of truth: getters read it directly, and each property is created only when its
+ * {@code xxxProperty()} accessor is first called. {@link #sync()} copies the timer's
+ * current state into the properties created so far, firing only for values that changed.
+ *
+ * <p>Name, description and class are writable, and a write (or a binding) goes straight
+ * through to the timer; the caller still re-indexes and journals the edit. Target time,
+ * running, finished and remaining seconds are read-only: they change only through the
+ * timer's lifecycle, which the scheduler drives.
+ * Obtained from {@link FxTimerAdapter}; FX thread only.
+ */
+public final class ObservableTimer {
+
+    private final CountdownTimer timer;
+    private StringProperty themeName;
+    private StringProperty description;
+    private StringProperty className;
+    private ReadOnlyObjectWrapper<LocalDateTime> targetTime;
+    private ReadOnlyBooleanWrapper running;
+    private ReadOnlyBooleanWrapper finished;
+    private ReadOnlyLongWrapper remainingSeconds;
+
+    ObservableTimer(CountdownTimer timer) {
+        this.timer = timer;
+    }
+
+    public CountdownTimer getTimer() {
+        return timer;
+    }
+
+    /** Copy the timer's state at {@code nowNanos} into every property created so far */
+    public void sync(long nowNanos) {
+        if (themeName != null) themeName.set(timer.getThemeName());
+        if (description != null) description.set(timer.getDescription());
+        if (className != null) className.set(timer.getClassName());
+        if (targetTime != null) targetTime.set(timer.getTargetTime());
+        if (running != null) running.set(timer.isRunning());
+        if (finished != null) finished.set(timer.isFinished());
+        if (remainingSeconds != null) remainingSeconds.set(timer.remainingSecondsAt(nowNanos));
+    }
+
+    public StringProperty themeNameProperty() {
+        if (themeName == null) themeName = writeThrough("themeName", timer.getThemeName(), timer::setThemeName);
+        return themeName;
+    }
+    public String getThemeName() { return timer.getThemeName(); }
+    public void setThemeName(String name) {
+        if (themeName != null) themeName.set(name);
+        else timer.setThemeName(name);
+    }
+
+    public StringProperty descriptionProperty() {
+        if (description == null) description = writeThrough("description", timer.getDescription(), timer::setDescription);
+        return description;
+    }
+    public String getDescription() { return timer.getDescription(); }
+    public void setDescription(String desc) {
+        if (description != null) description.set(desc);
+        else timer.setDescription(desc);
+    }
+
+    public StringProperty classNameProperty() {
+        if (className == null) className = writeThrough("className", timer.getClassName(), timer::setClassName);
+        return className;
+    }
+    public String getClassName() { return timer.getClassName(); }
+    public void setClassName(String cn) {
+        if (className != null) className.set(cn);
+        else timer.setClassName(cn);
+    }
+
+    public ReadOnlyObjectProperty<LocalDateTime> targetTimeProperty() {
+        if (targetTime == null) targetTime = new ReadOnlyObjectWrapper<>(this, "targetTime", timer.getTargetTime());
+        return targetTime.getReadOnlyProperty();
+    }
+    public LocalDateTime getTargetTime() { return timer.getTargetTime(); }
+
+    public ReadOnlyBooleanProperty runningProperty() {
+        if (running == null) running = new ReadOnlyBooleanWrapper(this, "running", timer.isRunning());
+        return running.getReadOnlyProperty();
+    }
+    public boolean isRunning() { return timer.isRunning(); }
+
+    public ReadOnlyBooleanProperty finishedProperty() {
+        if (finished == null) finished = new ReadOnlyBooleanWrapper(this, "finished", timer.isFinished());
+        return finished.getReadOnlyProperty();
+    }
+    public boolean isFinished() { return timer.isFinished(); }
+
+    public ReadOnlyLongProperty remainingSecondsProperty() {
+        if (remainingSeconds == null) remainingSeconds = new ReadOnlyLongWrapper(this, "remainingSeconds", timer.getRemainingSeconds());
+        return remainingSeconds.getReadOnlyProperty();
+    }
+    public long getRemainingSeconds() { return timer.getRemainingSeconds(); }
+
+    private StringProperty writeThrough(String name, String initial, Consumer<String> setter) {
+        return new SimpleStringProperty(this, name, initial) {
+            @Override
+            protected void invalidated() {
+                setter.accept(get());
+            }
+        };
+    }
+}
@@ -0,0 +1,99 @@
+package no.countdown.ui;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.scene.paint.Color;
+import no.countdown.model.CountdownTimer;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Every class name in use, with its member timers, kept up to date as timers are created,
+ * edited and deleted. Also holds the sorted class names for the combo box and each
+ * class's tag style, computed once per class.
+ *
+ * <p>Mutated on the FX thread only; {@link #members} may be called from the search worker.
+ */
+class ClassRegistry {
+
+    private final Map<String, Set<CountdownTimer>> members = new HashMap<>();
+    private final Map<CountdownTimer, String> classOf = new IdentityHashMap<>();
+    private final ObservableList<String> names = FXCollections.observableArrayList();
+    private final ObservableList<String> readOnlyNames = FXCollections.unmodifiableObservableList(names);
+    private final Map<String, String> tagStyles = new HashMap<>();
+
+    synchronized void add(CountdownTimer timer) {
+        String cn = timer.getClassName();
+        if (cn == null || cn.isEmpty()) return;
+        classOf.put(timer, cn);
+        Set<CountdownTimer> set = members.get(cn);
+        if (set == null) {
+            set = Collections.newSetFromMap(new IdentityHashMap<>());
+            members.put(cn, set);
+            int i = Collections.binarySearch(names, cn);
+            names.add(-(i + 1), cn);
+        }
+        set.add(timer);
+    }
+
+    /** Move a timer to its current class after an edit */
+    synchronized void update(CountdownTimer timer) {
+        String old = classOf.get(timer);
+        String cn = timer.getClassName();
+        if (old != null && old.equals(cn)) return;
+        remove(timer);
+        add(timer);
+    }
+
+    synchronized void remove(CountdownTimer timer) {
+        String cn = classOf.remove(timer);
+        if (cn == null) return;
+        Set<CountdownTimer> set = members.get(cn);
+        set.remove(timer);
+        if (set.isEmpty()) {
+            members.remove(cn);
+            names.remove(Collections.binarySearch(names, cn));
+            tagStyles.remove(cn);
+        }
+    }
+
+    /** A copy of the timers in the class, safe to use on another thread */
+    synchronized Set<CountdownTimer> members(String className) {
+        Set<CountdownTimer> copy = Collections.newSetFromMap(new IdentityHashMap<>());
+        Set<CountdownTimer> set = members.get(className);
+        if (set != null) copy.addAll(set);
+        return copy;
+    }
+
+    /** Class names in use, sorted; FX thread only */
+    ObservableList<String> getNames() {
+        return readOnlyNames;
+    }
+
+    /** Inline style for a class tag: tinted background, full-color text */
+    synchronized String tagStyle(String className) {
+        String style = tagStyles.get(className);
+        if (style == null) {
+            String color = computeColor(className);
+            style = "-fx-background-color: " + color + "33; -fx-text-fill: " + color + ";";
+            tagStyles.put(className, style);
+        }
+        return style;
+    }
+
+    private static String computeColor(String className) {
+        int hash = className.hashCode();
+        double hue = Math.abs(hash % 360);
+        double sat = 0.65 + (Math.abs((hash >> 8) % 20)) / 100.0;
+        double bri = 0.75 + (Math.abs((hash >> 16) % 15)) / 100.0;
+        Color color = Color.hsb(hue, sat, bri);
+        return String.format("#%02x%02x%02x",
+                (int)(color.getRed() * 255),
+                (int)(color.getGreen() * 255),
+                (int)(color.getBlue() * 255));
+    }
+}
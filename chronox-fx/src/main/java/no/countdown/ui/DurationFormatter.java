@@ -0,0 +1,83 @@
+package no.countdown.ui;
+
+import no.countdown.model.ReadOnlyTimer;
+
+/**
+ * Formats remaining times for the cards and the center display without
+ * {@link String#format}: digits are written into one reusable buffer, and each rendered
+ * string is kept in a small direct-mapped cache keyed by the number of seconds, so a
+ * value already shown this tick (by another timer) or last tick costs nothing.
+ * FX thread only.
+ */
+class DurationFormatter {
+
+    static final String TIMES_UP = "Time's Up!";
+    static final String NOT_STARTED = "Not started";
+    private static final String PAUSED_SUFFIX = " (paused)";
+    private static final int CACHE_SIZE = 1024; // power of two
+
+    private final StringBuilder buf = new StringBuilder(32);
+    private final Cache card = new Cache();
+    private final Cache pausedCard = new Cache();
+    private final Cache clock = new Cache();
+
+    /** One direct-mapped slot per {@code seconds % CACHE_SIZE} */
+    private static final class Cache {
+        final long[] keys = new long[CACHE_SIZE];
+        final String[] values = new String[CACHE_SIZE];
+
+        String get(long seconds) {
+            int slot = (int) (seconds & (CACHE_SIZE - 1));
+            return values[slot] != null && keys[slot] == seconds ? values[slot] : null;
+        }
+
+        String put(long seconds, String value) {
+            int slot = (int) (seconds & (CACHE_SIZE - 1));
+            keys[slot] = seconds;
+            values[slot] = value;
+            return value;
+        }
+    }
+
+    /** Card text for a timer in any state */
+    String card(ReadOnlyTimer t) {
+        if (t.isFinished()) return TIMES_UP;
+        if (!t.isRunning() && !t.isPaused()) return NOT_STARTED;
+        return card(t.getRemainingSeconds(), t.isPaused());
+    }
+
+    /** Card text, e.g. "1d 2h 3m 4s", "3m 4s" or "3m 4s (paused)" */
+    String card(long seconds, boolean paused) {
+        Cache cache = paused ? pausedCard : card;
+        String cached = cache.get(seconds);
+        if (cached != null) return cached;
+
+        long d = seconds / 86400, rest = seconds % 86400;
+        long h = rest / 3600, m = (rest % 3600) / 60, s = rest % 60;
+        buf.setLength(0);
+        if (d > 0) buf.append(d).append("d ");
+        if (d > 0 || h > 0) buf.append(h).append("h ");
+        buf.append(m).append("m ").append(s).append('s');
+        if (paused) buf.append(PAUSED_SUFFIX);
+        return cache.put(seconds, buf.toString());
+    }
+
+    /** Center display text, "DD : HH : MM : SS" */
+    String clock(long seconds) {
+        String cached = clock.get(seconds);
+        if (cached != null) return cached;
+
+        long d = seconds / 86400, rest = seconds % 86400;
+        buf.setLength(0);
+        twoDigits(d).append(" : ");
+        twoDigits(rest / 3600).append(" : ");
+        twoDigits((rest % 3600) / 60).append(" : ");
+        twoDigits(rest % 60);
+        return clock.put(seconds, buf.toString());
+    }
+
+    private StringBuilder twoDigits(long value) {
+        if (value < 10) buf.append('0');
+        return buf.append(value);
+    }
+}
@@ -0,0 +1,49 @@
+package no.countdown.ui;
+
+/**
+ * Counts how many card refreshes actually changed what a card shows, versus how many
+ * were skipped because the card was already up to date or out of view.
+ */
+public class RenderStats {
+
+    private long passes;
+    private long updated;
+    private long skipped;
+    private long hidden;
+
+    void recordPass(int updatedCards, int skippedCards, int hiddenCards) {
+        passes++;
+        updated += updatedCards;
+        skipped += skippedCards;
+        hidden += hiddenCards;
+    }
+
+    public long getPasses() {
+        return passes;
+    }
+
+    public long getUpdated() {
+        return updated;
+    }
+
+    public long getSkipped() {
+        return skipped;
+    }
+
+    /** Cells passed over because they were outside the viewport */
+    public long getHidden() {
+        return hidden;
+    }
+
+    public void reset() {
+        passes = 0;
+        updated = 0;
+        skipped = 0;
+        hidden = 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("passes=%d updated=%d skipped=%d hidden=%d", passes, updated, skipped, hidden);
+    }
+}
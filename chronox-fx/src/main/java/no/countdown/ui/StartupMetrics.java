@@ -0,0 +1,38 @@
+package no.countdown.ui;
+
+/**
+ * Startup timings, measured from the moment the application class was loaded:
+ * time to the first rendered frame and time until every saved timer is in the list.
+ */
+public class StartupMetrics {
+
+    private final long launchNanos;
+    private long firstFrameNanos = -1;
+    private long fullyLoadedNanos = -1;
+
+    public StartupMetrics(long launchNanos) {
+        this.launchNanos = launchNanos;
+    }
+
+    public void markFirstFrame() {
+        if (firstFrameNanos >= 0) return;
+        firstFrameNanos = System.nanoTime();
+        System.out.printf("[ChronoX] First frame after %.0f ms%n", getTimeToFirstFrameMillis());
+    }
+
+    public void markFullyLoaded(int timerCount) {
+        if (fullyLoadedNanos >= 0) return;
+        fullyLoadedNanos = System.nanoTime();
+        System.out.printf("[ChronoX] %d timer(s) loaded after %.0f ms%n", timerCount, getTimeToFullyLoadedMillis());
+    }
+
+    /** Milliseconds from launch to the first frame, or -1 if not rendered yet */
+    public double getTimeToFirstFrameMillis() {
+        return firstFrameNanos < 0 ? -1 : (firstFrameNanos - launchNanos) / 1e6;
+    }
+
+    /** Milliseconds from launch until all saved timers were published, or -1 if still loading */
+    public double getTimeToFullyLoadedMillis() {
+        return fullyLoadedNanos < 0 ? -1 : (fullyLoadedNanos - launchNanos) / 1e6;
+    }
+}
@@ -0,0 +1,257 @@
+package no.countdown.ui;
+
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.control.Button;
+import javafx.scene.control.ContextMenu;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.MenuItem;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.control.SeparatorMenuItem;
+import javafx.scene.input.ClipboardContent;
+import javafx.scene.input.DataFormat;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.TransferMode;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+import no.countdown.model.CountdownTimer;
+
+/**
+ * List cell that renders one timer card. The card's nodes, handlers and context menu
+ * are created once per cell and rebound to whichever timer the cell shows, so only the
+ * cards on screen exist as nodes however many timers there are.
+ */
+class TimerCell extends ListCell<CountdownTimer> {
+
+    static final DataFormat TIMER_INDEX = new DataFormat("application/x-timer-index");
+
+    private final TimerController controller;
+    private final Label nameLabel = new Label();
+    private final Label classTag = new Label();
+    private final Label timeLabel = new Label();
+    private final ProgressBar progressBar = new ProgressBar(0);
+    private final Button cardDoneBtn = new Button("Done");
+    private final HBox card = new HBox();
+    private final ContextMenu ctx = new ContextMenu();
+    private CountdownTimer bound;
+    // What the card currently shows; a refresh with the same values is skipped
+    private int shownState = -1;
+    private long shownSeconds;
+
+    TimerCell(TimerController controller) {
+        this.controller = controller;
+
+        nameLabel.getStyleClass().add("card-name");
+        classTag.getStyleClass().add("class-tag");
+        classTag.setOnMouseClicked(e -> {
+            if (bound != null) controller.setClassFilter(bound.getClassName());
+            e.consume();
+        });
+        HBox nameRow = new HBox(6, nameLabel, classTag);
+        nameRow.setAlignment(Pos.CENTER_LEFT);
+
+        timeLabel.getStyleClass().add("card-time");
+
+        progressBar.getStyleClass().add("card-progress");
+        progressBar.setMaxWidth(Double.MAX_VALUE);
+
+        Label dragHandle = new Label("☰");
+        dragHandle.getStyleClass().add("drag-handle");
+
+        cardDoneBtn.getStyleClass().add("card-done-btn");
+        cardDoneBtn.setMaxWidth(Double.MAX_VALUE);
+        cardDoneBtn.setOnAction(e -> {
+            if (bound != null) controller.restartTimer(bound);
+        });
+
+        VBox info = new VBox(4, nameRow, progressBar, timeLabel);
+        HBox.setHgrow(info, Priority.ALWAYS);
+
+        HBox cardRow = new HBox(10, dragHandle, info);
+        cardRow.setAlignment(Pos.CENTER_LEFT);
+        VBox cardWrapper = new VBox(6, cardRow, cardDoneBtn);
+        card.getChildren().add(cardWrapper);
+        HBox.setHgrow(cardWrapper, Priority.ALWAYS);
+        card.getStyleClass().add("timer-card");
+        card.setPadding(new Insets(10, 12, 10, 12));
+        card.setAlignment(Pos.CENTER_LEFT);
+
+        card.setOnMouseClicked(e -> {
+            if (e.getButton() == MouseButton.PRIMARY && bound != null) {
+                controller.selectTimer(bound);
+            }
+        });
+
+        // Context menu (right-click), filled for the timer's state when shown
+        card.setOnContextMenuRequested(e -> {
+            if (bound == null) return;
+            populateContextMenu(bound);
+            ctx.show(card, e.getScreenX(), e.getScreenY());
+            e.consume();
+        });
+
+        setupDragAndDrop();
+        setText(null);
+
+        // The list hides cells scrolled out of the viewport; catch up as soon as one is shown again
+        visibleProperty().addListener((obs, was, now) -> {
+            if (now) refresh(controller.now());
+        });
+    }
+
+    @Override
+    protected void updateItem(CountdownTimer timer, boolean empty) {
+        super.updateItem(timer, empty);
+        bound = empty ? null : timer;
+        controller.cellBound(this, bound != null);
+        if (bound == null) {
+            setGraphic(null);
+            return;
+        }
+        render(controller.now());
+        setGraphic(card);
+    }
+
+    /** True if the cell shows a timer and lies in the list's viewport */
+    boolean isShowing() {
+        return bound != null && isVisible();
+    }
+
+    /** Re-read everything shown on the card: name, class tag, selection and time */
+    void render(long now) {
+        if (bound == null) return;
+        nameLabel.setText(bound.getThemeName());
+
+        String cn = bound.getClassName();
+        boolean hasClass = cn != null && !cn.isEmpty();
+        classTag.setVisible(hasClass);
+        classTag.setManaged(hasClass);
+        if (hasClass) {
+            classTag.setText(cn);
+            classTag.setStyle(controller.classTagStyle(cn));
+        }
+
+        boolean selected = bound == controller.getSelectedTimer();
+        if (selected && !card.getStyleClass().contains("timer-card-selected")) {
+            card.getStyleClass().add("timer-card-selected");
+        } else if (!selected) {
+            card.getStyleClass().remove("timer-card-selected");
+        }
+
+        progressBar.setVisible(bound.getTotalSeconds() > 0);
+        progressBar.setManaged(bound.getTotalSeconds() > 0);
+        shownState = -1;
+        refresh(now);
+    }
+
+    /**
+     * Update the parts that change every second: time text, progress and the Done button.
+     * Returns false, without formatting anything, if the card already shows this state.
+     */
+    boolean refresh(long now) {
+        if (bound == null) return false;
+        CountdownTimer t = bound;
+        int state = t.isFinished() ? 3 : t.isPaused() ? 2 : t.isRunning() ? 1 : 0;
+        long seconds = t.remainingSecondsAt(now);
+        if (state == shownState && seconds == shownSeconds) return false;
+        shownState = state;
+        shownSeconds = seconds;
+
+        DurationFormatter formatter = controller.getFormatter();
+        timeLabel.setText(t.isRunning() ? formatter.card(seconds, false) : formatter.card(t));
+
+        if (t.isFinished()) progressBar.setProgress(1.0);
+        else if (t.isRunning() || t.isPaused()) progressBar.setProgress(t.progressAt(now));
+        else progressBar.setProgress(0);
+
+        boolean stopped = !t.isRunning() && !t.isPaused() && t.getOriginalUnit() != null;
+        cardDoneBtn.setVisible(stopped);
+        cardDoneBtn.setManaged(stopped);
+        return true;
+    }
+
+    private void populateContextMenu(CountdownTimer timer) {
+        ctx.getItems().clear();
+
+        if (timer.isRunning()) {
+            MenuItem pauseItem = new MenuItem("Pause");
+            pauseItem.setOnAction(e -> controller.pauseTimer(timer));
+            ctx.getItems().add(pauseItem);
+        } else if (timer.isPaused()) {
+            MenuItem resumeItem = new MenuItem("Resume");
+            resumeItem.setOnAction(e -> controller.resumeTimer(timer));
+            ctx.getItems().add(resumeItem);
+        }
+
+        if (timer.isFinished() || (!timer.isRunning() && !timer.isPaused() && timer.getOriginalUnit() != null)) {
+            MenuItem restartItem = new MenuItem("Restart");
+            restartItem.setOnAction(e -> controller.restartTimer(timer));
+            ctx.getItems().add(restartItem);
+        }
+
+        if (timer.isRunning() || timer.isPaused()) {
+            MenuItem resetItem = new MenuItem("Reset");
+            resetItem.setOnAction(e -> controller.restartTimer(timer));
+            ctx.getItems().add(resetItem);
+        }
+
+        MenuItem editItem = new MenuItem("Edit");
+        editItem.setOnAction(e -> controller.editTimer(timer));
+        ctx.getItems().add(editItem);
+
+        ctx.getItems().add(new SeparatorMenuItem());
+
+        MenuItem deleteItem = new MenuItem("Delete");
+        deleteItem.setOnAction(e -> controller.deleteTimer(timer));
+        ctx.getItems().add(deleteItem);
+    }
+
+    // Drag-and-drop reordering
+    private void setupDragAndDrop() {
+        card.setOnDragDetected(e -> {
+            if (bound == null) return;
+            controller.setDraggedTimer(bound);
+            var db = card.startDragAndDrop(TransferMode.MOVE);
+            ClipboardContent clip = new ClipboardContent();
+            clip.put(TIMER_INDEX, getIndex());
+            db.setContent(clip);
+            card.getStyleClass().add("timer-card-dragging");
+            e.consume();
+        });
+
+        card.setOnDragOver(e -> {
+            if (e.getGestureSource() != card && e.getDragboard().hasContent(TIMER_INDEX)) {
+                e.acceptTransferModes(TransferMode.MOVE);
+                if (!card.getStyleClass().contains("timer-card-drop-target")) {
+                    card.getStyleClass().add("timer-card-drop-target");
+                }
+            }
+            e.consume();
+        });
+
+        card.setOnDragExited(e -> {
+            card.getStyleClass().remove("timer-card-drop-target");
+            e.consume();
+        });
+
+        card.setOnDragDropped(e -> {
+            var db = e.getDragboard();
+            CountdownTimer moved = controller.getDraggedTimer();
+            if (db.hasContent(TIMER_INDEX) && bound != null && moved != null) {
+                controller.moveTimer(moved, bound);
+                e.setDropCompleted(true);
+            } else {
+                e.setDropCompleted(false);
+            }
+            e.consume();
+        });
+
+        card.setOnDragDone(e -> {
+            card.getStyleClass().remove("timer-card-dragging");
+            controller.setDraggedTimer(null);
+            e.consume();
+        });
+    }
+}
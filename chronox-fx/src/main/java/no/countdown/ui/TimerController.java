@@ -0,0 +1,789 @@
+package no.countdown.ui;
+
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.application.Platform;
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.SimpleBooleanProperty;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.control.*;
+import javafx.scene.layout.*;
+import javafx.util.Duration;
+import no.countdown.engine.TickScheduler;
+import no.countdown.fx.FxTimerAdapter;
+import no.countdown.fx.ObservableTimer;
+import no.countdown.model.CountdownTimer;
+import no.countdown.model.CountdownTimer.TimeUnit;
+import no.countdown.model.TimeSource;
+import no.countdown.persistence.TimerRecord;
+import no.countdown.persistence.TimerJournal.Op;
+import no.countdown.persistence.TimerStore;
+import no.countdown.search.SearchIndex;
+import no.countdown.search.SearchPipeline;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.stream.Collectors;
+
+public class TimerController extends BorderPane {
+
+    private static final int FIRST_CHUNK = 500;
+    private static final int THROTTLED_TICKS = 5;
+    private static final long SEARCH_DEBOUNCE_MS = 150;
+
+    private final TimerView view = new TimerView();
+    private final SearchIndex search = new SearchIndex();
+    private final ClassRegistry classes = new ClassRegistry();
+    private final DurationFormatter formatter = new DurationFormatter();
+    private final SearchPipeline searchPipeline = new SearchPipeline(search, classes::members, Platform::runLater, this::applyFilter);
+    private final TimeSource clock = TimeSource.system();
+    private final TickScheduler scheduler = new TickScheduler(new TickScheduler.TickListener() {
+        @Override
+        public void onTimersExpired(List<CountdownTimer> expired, boolean opened) {
+            handleTimersExpired(expired, opened);
+        }
+
+        @Override
+        public void onExpiryBatch(List<CountdownTimer> batch) {
+            handleExpiryBatch(batch);
+        }
+
+        @Override
+        public void onTick(long nowNanos) {
+            handleTick(nowNanos);
+        }
+    }, clock, Platform::runLater);
+    private final TimerStore store = new TimerStore(TimerStore.DEFAULT_DIR, this::snapshotRecords, Platform::runLater);
+    /** Cells currently showing a timer; weak, so cells the list discards are not kept alive */
+    private final Set<TimerCell> cells = Collections.newSetFromMap(new WeakHashMap<>());
+    private final RenderStats renderStats = new RenderStats();
+    private final FxTimerAdapter fxTimers = new FxTimerAdapter();
+    private CountdownTimer selectedTimer;
+    private ObservableTimer selectedView; // properties of the selected timer, bound by the center display
+    private CountdownTimer draggedTimer;
+    private boolean renderingSuspended = false;
+    private boolean renderingThrottled = false;
+    private boolean resortPending = false; // finished timers were left in place while suspended
+    private long tickCount = 0;
+
+    private final ListView<CountdownTimer> timerList = new ListView<>(view.getShown());
+    private final VBox centerDisplay = new VBox(16);
+    private final VBox formContainer = new VBox();
+    private final HBox filterBar = new HBox(8);
+    private final VBox loadingBox = new VBox(4);
+    private final Label loadingLabel = new Label("Loading timers...");
+    private final ProgressBar loadingProgress = new ProgressBar(ProgressBar.INDETERMINATE_PROGRESS);
+    private final BooleanProperty loading = new SimpleBooleanProperty(false);
+    private final TextField searchField = new TextField();
+    private String classFilter = null;
+    private String searchQuery = "";
+
+    // Center display elements
+    private final Label countdownLabel = new Label("00 : 00 : 00 : 00");
+    private final Label unitLabelsRow = new Label("DAYS     HRS      MIN      SEC");
+    private final Label centerThemeName = new Label();
+    private final Label centerDescription = new Label();
+    private final Label timesUpLabel = new Label(DurationFormatter.TIMES_UP);
+    private final Button pauseResumeBtn = new Button("Pause");
+    private final Button resetBtn = new Button("Reset");
+    private final Button cancelTimerBtn = new Button("Cancel");
+    private final Button deleteBtn = new Button("Delete");
+    private final Button restartDoneBtn = new Button("Done");
+    private final HBox controlButtons = new HBox(12, pauseResumeBtn, resetBtn, cancelTimerBtn);
+    private final HBox finishedButtons = new HBox(12, restartDoneBtn);
+    private VBox guideBox;
+
+    private boolean formVisible = false;
+    private CountdownTimer editingTimer = null;
+
+    public TimerController() {
+        getStyleClass().add("root-pane");
+        setPadding(new Insets(0));
+
+        setTop(createTopBar());
+        setLeft(createLeftPanel());
+        setCenter(createCenterPanel());
+
+        setupControlButtons();
+    }
+
+    private HBox createTopBar() {
+        Label title = new Label("ChronoX");
+        title.getStyleClass().add("app-title");
+
+        Region spacer = new Region();
+        HBox.setHgrow(spacer, Priority.ALWAYS);
+
+        Button saveBtn = new Button("Save");
+        saveBtn.getStyleClass().add("save-btn");
+        saveBtn.disableProperty().bind(loading);
+        // The snapshot is written on the persistence thread; the button reports back when it is on disk
+        saveBtn.setOnAction(e -> store.flushAsync().thenAccept(saved -> Platform.runLater(() -> {
+            saveBtn.setText(saved ? "Saved!" : "Not saved");
+            Timeline revert = new Timeline(new KeyFrame(Duration.seconds(1.5), ev -> saveBtn.setText("Save")));
+            revert.play();
+        })));
+
+        HBox topBar = new HBox(title, spacer, saveBtn);
+        topBar.getStyleClass().add("top-bar");
+        topBar.setAlignment(Pos.CENTER_LEFT);
+        topBar.setPadding(new Insets(18, 24, 18, 24));
+        return topBar;
+    }
+
+    private VBox createLeftPanel() {
+        Label listTitle = new Label("Timers");
+        listTitle.getStyleClass().add("list-title");
+
+        // Virtualized: only the visible cards exist as nodes, reused while scrolling
+        timerList.getStyleClass().add("timer-list");
+        timerList.setCellFactory(lv -> new TimerCell(this));
+        timerList.setPlaceholder(new Label(""));
+        VBox.setVgrow(timerList, Priority.ALWAYS);
+
+        searchField.setPromptText("Search timers...");
+        searchField.getStyleClass().add("search-field");
+        searchField.textProperty().addListener((obs, old, val) -> {
+            searchQuery = val == null ? "" : val.trim();
+            requestFilter(SEARCH_DEBOUNCE_MS);
+        });
+
+        filterBar.setAlignment(Pos.CENTER_LEFT);
+        filterBar.getStyleClass().add("filter-bar");
+        filterBar.setVisible(false);
+        filterBar.setManaged(false);
+
+        Button addBtn = new Button("+ New Timer");
+        addBtn.getStyleClass().add("add-timer-btn");
+        addBtn.setMaxWidth(Double.MAX_VALUE);
+        addBtn.setOnAction(e -> toggleForm());
+        addBtn.disableProperty().bind(loading);
+
+        loadingProgress.getStyleClass().add("card-progress");
+        loadingProgress.setMaxWidth(Double.MAX_VALUE);
+        loadingLabel.getStyleClass().add("card-time");
+        loadingBox.getChildren().addAll(loadingLabel, loadingProgress);
+        loadingBox.visibleProperty().bind(loading);
+        loadingBox.managedProperty().bind(loading);
+
+        formContainer.getStyleClass().add("form-container");
+        formContainer.setManaged(false);
+        formContainer.setVisible(false);
+
+        VBox leftPanel = new VBox(10, listTitle, searchField, filterBar, loadingBox, timerList, addBtn, formContainer);
+        leftPanel.getStyleClass().add("left-panel");
+        leftPanel.setPadding(new Insets(16));
+        leftPanel.setPrefWidth(280);
+        leftPanel.setMinWidth(280);
+
+        return leftPanel;
+    }
+
+    private VBox createCenterPanel() {
+        countdownLabel.getStyleClass().add("countdown-digits");
+        unitLabelsRow.getStyleClass().add("unit-labels");
+
+        centerThemeName.getStyleClass().add("center-theme-name");
+        centerDescription.getStyleClass().add("center-description");
+
+        timesUpLabel.getStyleClass().add("times-up-label");
+        timesUpLabel.setVisible(false);
+        timesUpLabel.setManaged(false);
+
+        controlButtons.setAlignment(Pos.CENTER);
+        controlButtons.setVisible(false);
+        controlButtons.setManaged(false);
+
+        finishedButtons.setAlignment(Pos.CENTER);
+        finishedButtons.setVisible(false);
+        finishedButtons.setManaged(false);
+
+        Label guideTitle = new Label("Welcome to ChronoX");
+        guideTitle.getStyleClass().add("guide-title");
+
+        Label guideText = new Label(
+            "1.  Click \"+ New Timer\" to create a timer\n" +
+            "2.  Enter name, description, class, amount and unit\n" +
+            "3.  Click \"Done\" \u2014 countdown starts immediately\n" +
+            "4.  Click a timer card to view the full countdown\n" +
+            "5.  Use Pause, Resume, Reset, Edit or Delete\n" +
+            "6.  Right-click a card for a quick context menu\n" +
+            "7.  Click a class tag to filter the list\n" +
+            "8.  Drag the \u2630 handle to reorder timers\n" +
+            "9.  Finished timers float to the top automatically\n" +
+            "10. Timers are saved automatically on exit"
+        );
+        guideText.getStyleClass().add("guide-text");
+
+        guideBox = new VBox(12, guideTitle, guideText);
+        guideBox.setAlignment(Pos.CENTER);
+
+        Button editBtn = new Button("Edit");
+        editBtn.getStyleClass().add("edit-btn");
+        editBtn.setOnAction(e -> {
+            if (selectedTimer != null) openEditForm(selectedTimer);
+        });
+
+        HBox deleteRow = new HBox(12, editBtn, deleteBtn);
+        deleteRow.setAlignment(Pos.CENTER);
+        deleteRow.setVisible(false);
+        deleteRow.setManaged(false);
+
+        centerDisplay.setAlignment(Pos.CENTER);
+        centerDisplay.setPadding(new Insets(40));
+        centerDisplay.getChildren().addAll(
+                centerThemeName, centerDescription,
+                countdownLabel, unitLabelsRow,
+                timesUpLabel, controlButtons, finishedButtons, deleteRow, guideBox
+        );
+
+        return centerDisplay;
+    }
+
+    private void setupControlButtons() {
+        pauseResumeBtn.getStyleClass().add("control-btn");
+        resetBtn.getStyleClass().add("control-btn");
+
+        pauseResumeBtn.setOnAction(e -> {
+            if (selectedTimer == null) return;
+            if (selectedTimer.isRunning()) {
+                pauseTimer(selectedTimer);
+            } else if (selectedTimer.isPaused()) {
+                resumeTimer(selectedTimer);
+            }
+        });
+
+        resetBtn.setOnAction(e -> {
+            if (selectedTimer == null) return;
+            restartTimer(selectedTimer);
+        });
+
+        cancelTimerBtn.getStyleClass().add("cancel-btn");
+        cancelTimerBtn.setOnAction(e -> {
+            if (selectedTimer == null) return;
+            scheduler.cancel(selectedTimer);
+            selectedTimer.reset();
+            journal(Op.RESET, selectedTimer);
+            updateCenterDisplay();
+            timerChanged(selectedTimer);
+        });
+
+        restartDoneBtn.getStyleClass().addAll("add-timer-btn", "done-btn");
+        restartDoneBtn.setOnAction(e -> {
+            if (selectedTimer == null || selectedTimer.isRunning()) return;
+            restartTimer(selectedTimer);
+        });
+
+        deleteBtn.getStyleClass().add("delete-btn");
+        deleteBtn.setOnAction(e -> {
+            if (selectedTimer == null) return;
+            deleteTimer(selectedTimer);
+        });
+    }
+
+    private void toggleForm() {
+        formVisible = !formVisible;
+        editingTimer = null;
+        if (formVisible) {
+            formContainer.getChildren().setAll(createForm(null));
+            formContainer.setManaged(true);
+            formContainer.setVisible(true);
+        } else {
+            formContainer.setManaged(false);
+            formContainer.setVisible(false);
+        }
+    }
+
+    private void openEditForm(CountdownTimer timer) {
+        editingTimer = timer;
+        formVisible = true;
+        formContainer.getChildren().setAll(createForm(timer));
+        formContainer.setManaged(true);
+        formContainer.setVisible(true);
+    }
+
+    private void closeForm() {
+        formVisible = false;
+        editingTimer = null;
+        formContainer.setManaged(false);
+        formContainer.setVisible(false);
+    }
+
+    private VBox createForm(CountdownTimer editing) {
+        boolean isEdit = editing != null;
+
+        Label formTitle = new Label(isEdit ? "Edit Timer" : "New Timer");
+        formTitle.getStyleClass().add("form-title");
+
+        TextField nameField = new TextField();
+        nameField.setPromptText("Timer name");
+        nameField.getStyleClass().add("form-field");
+
+        TextField descField = new TextField();
+        descField.setPromptText("Description (optional)");
+        descField.getStyleClass().add("form-field");
+
+        Label classLabel = new Label("Class (optional)");
+        classLabel.getStyleClass().add("form-label");
+
+        ComboBox<String> classCombo = new ComboBox<>();
+        classCombo.setEditable(true);
+        classCombo.getStyleClass().add("form-combo");
+        classCombo.setMaxWidth(Double.MAX_VALUE);
+        classCombo.setPromptText("Select or type a class");
+        classCombo.setItems(classes.getNames());
+
+        Label amountLabel = new Label("Amount");
+        amountLabel.getStyleClass().add("form-label");
+
+        Spinner<Integer> amountSpinner = new Spinner<>(1, 9999, 1);
+        amountSpinner.setEditable(true);
+        amountSpinner.getStyleClass().add("form-field");
+        amountSpinner.setMaxWidth(Double.MAX_VALUE);
+
+        Label unitLabel = new Label("Unit");
+        unitLabel.getStyleClass().add("form-label");
+
+        ComboBox<TimeUnit> unitCombo = new ComboBox<>();
+        unitCombo.getItems().addAll(TimeUnit.values());
+        unitCombo.setValue(TimeUnit.MINUTES);
+        unitCombo.getStyleClass().add("form-combo");
+        unitCombo.setMaxWidth(Double.MAX_VALUE);
+
+        if (isEdit) {
+            nameField.setText(editing.getThemeName());
+            descField.setText(editing.getDescription());
+            String cn = editing.getClassName();
+            if (cn != null && !cn.isEmpty()) {
+                classCombo.getEditor().setText(cn);
+            }
+            if (editing.getOriginalUnit() != null) {
+                amountSpinner.getValueFactory().setValue((int) editing.getOriginalAmount());
+                unitCombo.setValue(editing.getOriginalUnit());
+            }
+        }
+
+        Button doneBtn = new Button(isEdit ? "Save" : "Done");
+        doneBtn.getStyleClass().addAll("add-timer-btn", "done-btn");
+        doneBtn.setMaxWidth(Double.MAX_VALUE);
+
+        Button cancelBtn = new Button("Cancel");
+        cancelBtn.getStyleClass().add("cancel-btn");
+        cancelBtn.setMaxWidth(Double.MAX_VALUE);
+
+        doneBtn.setOnAction(e -> {
+            String name = nameField.getText().trim();
+            if (name.isEmpty()) {
+                nameField.setStyle("-fx-border-color: #ef4444;");
+                return;
+            }
+            String desc = descField.getText().trim();
+            String cls = classCombo.getEditor().getText() != null ? classCombo.getEditor().getText().trim() : "";
+
+            if (isEdit) {
+                editing.setThemeName(name);
+                editing.setDescription(desc);
+                editing.setClassName(cls);
+
+                int newAmount = amountSpinner.getValue();
+                TimeUnit newUnit = unitCombo.getValue();
+                if (newAmount != editing.getOriginalAmount() || newUnit != editing.getOriginalUnit()) {
+                    editing.startCountdown(newAmount, newUnit);
+                    scheduler.schedule(editing);
+                }
+
+                journal(Op.EDIT, editing);
+                search.update(editing);
+                classes.update(editing);
+                updateCenterDisplay();
+                timerChanged(editing);
+                closeForm();
+            } else {
+                int amount = amountSpinner.getValue();
+                TimeUnit unit = unitCombo.getValue();
+
+                CountdownTimer timer = new CountdownTimer(name, desc, cls, clock);
+                timer.setId(store.nextId());
+                timer.startCountdown(amount, unit);
+                view.add(timer);
+                search.add(timer);
+                classes.add(timer);
+                scheduler.schedule(timer);
+                journal(Op.CREATE, timer);
+                selectTimer(timer);
+                closeForm();
+            }
+        });
+
+        cancelBtn.setOnAction(e -> closeForm());
+
+        HBox btnRow = new HBox(8, doneBtn, cancelBtn);
+        HBox.setHgrow(doneBtn, Priority.ALWAYS);
+        HBox.setHgrow(cancelBtn, Priority.ALWAYS);
+
+        VBox form = new VBox(8, formTitle, nameField, descField, classLabel, classCombo, amountLabel, amountSpinner, unitLabel, unitCombo, btnRow);
+        form.setPadding(new Insets(12));
+        form.getStyleClass().add("new-timer-form");
+        return form;
+    }
+
+    private void handleTimersExpired(List<CountdownTimer> expired, boolean opened) {
+        if (opened) java.awt.Toolkit.getDefaultToolkit().beep(); // one alert per batch
+        if (renderingSuspended) return;
+        if (selectedTimer != null && expired.contains(selectedTimer)) updateCenterDisplay();
+    }
+
+    private void handleExpiryBatch(List<CountdownTimer> batch) {
+        for (CountdownTimer timer : batch) {
+            journal(Op.FINISH, timer);
+            if (!renderingSuspended) view.update(timer); // finished timers move to the top
+        }
+        if (renderingSuspended && !batch.isEmpty()) resortPending = true;
+    }
+
+    private void handleTick(long now) {
+        if (selectedTimer != null) {
+            updateCenterDisplay(now);
+        }
+        // Unfocused, the list cards only move every few seconds; the center display stays live
+        if (!renderingThrottled || ++tickCount % THROTTLED_TICKS == 0) refreshCards(now);
+    }
+
+    /**
+     * Low-power mode while the window is minimized: no card or center rendering and no
+     * display tick, only expiry and alerts. Restoring catches up in a single pass.
+     */
+    public void setRenderingSuspended(boolean suspended) {
+        if (suspended == renderingSuspended) return;
+        renderingSuspended = suspended;
+        scheduler.setDisplaySuspended(suspended);
+        if (!suspended) catchUp();
+    }
+
+    /** Refresh the list cards less often while the window is visible but not focused */
+    public void setRenderingThrottled(boolean throttled) {
+        if (throttled == renderingThrottled) return;
+        renderingThrottled = throttled;
+        tickCount = 0;
+        if (!throttled && !renderingSuspended) refreshCards(clock.nanoTime());
+    }
+
+    private void catchUp() {
+        if (resortPending) {
+            resortPending = false;
+            view.resort();
+        }
+        updateCenterDisplay();
+        renderCells();
+    }
+
+    void selectTimer(CountdownTimer timer) {
+        observeSelected(timer);
+        updateCenterDisplay();
+        renderCells();
+    }
+
+    /** Only the selected timer gets JavaFX properties; the center labels bind to them */
+    private void observeSelected(CountdownTimer timer) {
+        if (timer == selectedTimer) return;
+        if (selectedTimer != null) {
+            centerThemeName.textProperty().unbind();
+            centerDescription.textProperty().unbind();
+            fxTimers.release(selectedTimer);
+        }
+        selectedTimer = timer;
+        selectedView = timer != null ? fxTimers.observe(timer) : null;
+        if (selectedView == null) return;
+        centerThemeName.textProperty().bind(selectedView.themeNameProperty());
+        centerDescription.textProperty().bind(selectedView.descriptionProperty());
+    }
+
+    private void updateCenterDisplay() {
+        updateCenterDisplay(clock.nanoTime());
+    }
+
+    private void updateCenterDisplay(long now) {
+        if (selectedTimer == null) {
+            countdownLabel.setVisible(false);
+            countdownLabel.setManaged(false);
+            unitLabelsRow.setVisible(false);
+            unitLabelsRow.setManaged(false);
+            centerThemeName.setVisible(false);
+            centerThemeName.setManaged(false);
+            centerDescription.setVisible(false);
+            centerDescription.setManaged(false);
+            timesUpLabel.setVisible(false);
+            timesUpLabel.setManaged(false);
+            controlButtons.setVisible(false);
+            controlButtons.setManaged(false);
+            finishedButtons.setVisible(false);
+            finishedButtons.setManaged(false);
+            deleteBtn.getParent().setVisible(false);
+            ((HBox) deleteBtn.getParent()).setManaged(false);
+            return;
+        }
+
+        selectedView.sync(now);
+        centerThemeName.setVisible(true);
+        centerThemeName.setManaged(true);
+
+        String desc = selectedView.getDescription();
+        centerDescription.setVisible(!desc.isEmpty());
+        centerDescription.setManaged(!desc.isEmpty());
+
+        countdownLabel.setVisible(true);
+        countdownLabel.setManaged(true);
+        unitLabelsRow.setVisible(true);
+        unitLabelsRow.setManaged(true);
+
+        countdownLabel.setText(formatter.clock(selectedTimer.remainingSecondsAt(now)));
+
+        boolean isFinished = selectedTimer.isFinished();
+        timesUpLabel.setVisible(isFinished);
+        timesUpLabel.setManaged(isFinished);
+
+        boolean showControls = !isFinished && (selectedTimer.isRunning() || selectedTimer.isPaused());
+        controlButtons.setVisible(showControls);
+        controlButtons.setManaged(showControls);
+
+        boolean isStopped = !selectedTimer.isRunning() && !selectedTimer.isPaused();
+        finishedButtons.setVisible(isStopped);
+        finishedButtons.setManaged(isStopped);
+
+        if (selectedTimer.isRunning()) {
+            pauseResumeBtn.setText("Pause");
+        } else if (selectedTimer.isPaused()) {
+            pauseResumeBtn.setText("Resume");
+        }
+
+        deleteBtn.getParent().setVisible(true);
+        ((HBox) deleteBtn.getParent()).setManaged(true);
+    }
+
+    /** Re-filter the list on the search worker after the search text or class filter changed */
+    private void requestFilter(long debounceMillis) {
+        searchPipeline.submit(new SearchPipeline.Query(searchQuery, classFilter), debounceMillis);
+    }
+
+    /** Show the latest filter result; timers changed since it was computed are tested here */
+    private void applyFilter(SearchPipeline.Result result) {
+        SearchPipeline.Query query = result.query();
+        boolean fresh = result.modCount() == search.getModCount();
+        view.setFilter(t -> passesFilter(t, query), fresh ? result.matches() : null);
+        renderCells();
+    }
+
+    private boolean passesFilter(CountdownTimer timer, SearchPipeline.Query query) {
+        if (query.className() != null && !query.className().equals(timer.getClassName())) return false;
+        return query.text().isEmpty() || search.matches(timer, query.text());
+    }
+
+    /** Reposition one timer after a state or text change and repaint the cards */
+    private void timerChanged(CountdownTimer timer) {
+        view.update(timer);
+        renderCells();
+    }
+
+    /** Called by a cell when it is given a timer, or loses it */
+    void cellBound(TimerCell cell, boolean bound) {
+        if (bound) cells.add(cell);
+        else cells.remove(cell);
+    }
+
+    /** A cell keeping the same timer is not updated by the list, so re-render explicitly */
+    private void renderCells() {
+        long now = clock.nanoTime();
+        for (TimerCell cell : cells) cell.render(now);
+    }
+
+    /**
+     * One render pass per display tick. Cells outside the viewport are not touched (they
+     * catch up when shown again) and cards whose text and progress are unchanged are skipped.
+     */
+    private void refreshCards(long now) {
+        int updated = 0, skipped = 0, hidden = 0;
+        for (TimerCell cell : cells) {
+            if (!cell.isShowing()) hidden++;
+            else if (cell.refresh(now)) updated++;
+            else skipped++;
+        }
+        renderStats.recordPass(updated, skipped, hidden);
+    }
+
+    public RenderStats getRenderStats() {
+        return renderStats;
+    }
+
+    // --- Timer actions, shared by the center panel and the list cells ---
+
+    CountdownTimer getSelectedTimer() {
+        return selectedTimer;
+    }
+
+    void pauseTimer(CountdownTimer timer) {
+        timer.pause();
+        scheduler.schedule(timer);
+        journal(Op.PAUSE, timer);
+        if (timer == selectedTimer) updateCenterDisplay();
+        timerChanged(timer);
+    }
+
+    void resumeTimer(CountdownTimer timer) {
+        timer.resume();
+        scheduler.schedule(timer);
+        journal(Op.RESUME, timer);
+        if (timer == selectedTimer) updateCenterDisplay();
+        timerChanged(timer);
+    }
+
+    void restartTimer(CountdownTimer timer) {
+        timer.restart();
+        scheduler.schedule(timer);
+        journal(Op.RESTART, timer);
+        if (timer == selectedTimer) updateCenterDisplay();
+        timerChanged(timer);
+    }
+
+    void editTimer(CountdownTimer timer) {
+        selectTimer(timer);
+        openEditForm(timer);
+    }
+
+    void deleteTimer(CountdownTimer timer) {
+        scheduler.cancel(timer);
+        view.remove(timer);
+        search.remove(timer);
+        classes.remove(timer);
+        store.delete(timer.getId());
+        if (timer == selectedTimer) {
+            observeSelected(null);
+            updateCenterDisplay();
+        }
+    }
+
+    /** Move a timer in front of another in the manual order (drag-and-drop) */
+    void moveTimer(CountdownTimer movedTimer, CountdownTimer targetTimer) {
+        if (movedTimer == targetTimer) return;
+        view.moveBefore(movedTimer, targetTimer);
+        store.reorder(movedTimer.getId(), targetTimer.getId());
+        renderCells();
+    }
+
+    /** The timer being dragged, held by reference so list changes during the drag can't retarget it */
+    CountdownTimer getDraggedTimer() {
+        return draggedTimer;
+    }
+
+    void setDraggedTimer(CountdownTimer timer) {
+        draggedTimer = timer;
+    }
+
+    void setClassFilter(String cn) {
+        classFilter = cn;
+        filterBar.getChildren().clear();
+
+        Label filterLabel = new Label("Class:");
+        filterLabel.getStyleClass().add("filter-label");
+
+        Label filterTag = new Label(cn);
+        filterTag.getStyleClass().add("class-tag");
+        filterTag.setStyle(classes.tagStyle(cn));
+
+        Button clearBtn = new Button("\u2715");
+        clearBtn.getStyleClass().add("filter-clear-btn");
+        clearBtn.setOnAction(e -> clearClassFilter());
+
+        Region spacer = new Region();
+        HBox.setHgrow(spacer, Priority.ALWAYS);
+
+        filterBar.getChildren().addAll(filterLabel, filterTag, spacer, clearBtn);
+        filterBar.setVisible(true);
+        filterBar.setManaged(true);
+
+        requestFilter(0);
+    }
+
+    private void clearClassFilter() {
+        classFilter = null;
+        filterBar.setVisible(false);
+        filterBar.setManaged(false);
+        requestFilter(0);
+    }
+
+    // --- Persistence ---
+
+    private void journal(Op op, CountdownTimer timer) {
+        store.append(op, TimerRecord.of(timer));
+    }
+
+    /**
+     * Load saved timers on a background thread and publish them in growing chunks, so
+     * the window stays responsive and the list fills in progressively. Creating and
+     * saving are disabled until every timer is in the list.
+     */
+    public void loadTimersAsync(StartupMetrics metrics) {
+        loading.set(true);
+        Thread loader = new Thread(() -> {
+            List<TimerRecord> records = store.load();
+            List<CountdownTimer> loaded = new ArrayList<>(records.size());
+            for (TimerRecord record : records) {
+                loaded.add(record.toTimer(clock));
+            }
+            Platform.runLater(() -> publishChunk(loaded, 0, FIRST_CHUNK, metrics));
+        }, "chronox-load");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /** Chunks double in size, so the number of list rebuilds grows only logarithmically */
+    private void publishChunk(List<CountdownTimer> loaded, int from, int size, StartupMetrics metrics) {
+        int to = Math.min(loaded.size(), from + size);
+        List<CountdownTimer> chunk = loaded.subList(from, to);
+        view.addAll(chunk);
+        for (CountdownTimer timer : chunk) {
+            search.add(timer);
+            classes.add(timer);
+        }
+        scheduler.scheduleAll(chunk);
+        if (to < loaded.size()) {
+            loadingLabel.setText("Loading timers... " + to + " / " + loaded.size());
+            loadingProgress.setProgress((double) to / loaded.size());
+            Platform.runLater(() -> publishChunk(loaded, to, size * 2, metrics));
+        } else {
+            loading.set(false);
+            metrics.markFullyLoaded(loaded.size());
+        }
+    }
+
+    /** Snapshot for compaction; null while loading, since the list is still incomplete */
+    private List<TimerRecord> snapshotRecords() {
+        if (loading.get()) return null;
+        return view.all().stream().map(TimerRecord::of).collect(Collectors.toList());
+    }
+
+    public void shutdown() {
+        store.close();
+        scheduler.stop();
+        searchPipeline.close();
+        System.out.println("[ChronoX] Expiry lateness: " + scheduler.getLatenessStats());
+        System.out.println("[ChronoX] Card refresh: " + renderStats);
+    }
+
+    /** One clock reading, for a cell that renders outside the tick */
+    long now() {
+        return clock.nanoTime();
+    }
+
+    DurationFormatter getFormatter() {
+        return formatter;
+    }
+
+    /** Inline style for a class tag, cached per class */
+    String classTagStyle(String className) {
+        return classes.tagStyle(className);
+    }
+}
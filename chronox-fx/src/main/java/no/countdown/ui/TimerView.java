@@ -0,0 +1,206 @@
+package no.countdown.ui;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import no.countdown.model.CountdownTimer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+/**
+ * Every timer in manual order, plus the filtered list shown in the UI: finished first,
+ * then by class, then manual order. Manual order is an explicit key per timer, so the
+ * shown list is kept sorted incrementally; a timer that finishes, is edited or is moved
+ * is repositioned by binary search instead of re-sorting everything. FX thread only.
+ */
+class TimerView {
+
+    /** Gap between consecutive order keys; a move takes the midpoint of its new neighbours */
+    static final long STEP = 1L << 32;
+    /** Adding more than this many shown timers at once merges instead of inserting one by one */
+    private static final int BULK = 64;
+
+    private record SortKey(boolean finished, String className, long order) {}
+
+    private static final Comparator<SortKey> ORDER = Comparator
+            .comparing((SortKey k) -> !k.finished())
+            .thenComparing(SortKey::className)
+            .thenComparingLong(SortKey::order);
+
+    private final NavigableMap<Long, CountdownTimer> manual = new TreeMap<>();
+    private final Map<CountdownTimer, SortKey> shownKeys = new IdentityHashMap<>();
+    private final ObservableList<CountdownTimer> shown = FXCollections.observableArrayList();
+    private Predicate<CountdownTimer> filter = t -> true;
+
+    /** The filtered, sorted list backing the list view */
+    ObservableList<CountdownTimer> getShown() {
+        return shown;
+    }
+
+    /** Every timer, in manual order */
+    Collection<CountdownTimer> all() {
+        return Collections.unmodifiableCollection(manual.values());
+    }
+
+    int size() {
+        return manual.size();
+    }
+
+    /** Append a timer at the end of the manual order */
+    void add(CountdownTimer timer) {
+        append(timer);
+        if (filter.test(timer)) insertShown(timer);
+    }
+
+    /** Append several timers, e.g. a chunk restored at startup */
+    void addAll(List<CountdownTimer> timers) {
+        List<CountdownTimer> passing = new ArrayList<>();
+        for (CountdownTimer timer : timers) {
+            append(timer);
+            if (filter.test(timer)) passing.add(timer);
+        }
+        if (passing.size() <= BULK) {
+            for (CountdownTimer timer : passing) insertShown(timer);
+            return;
+        }
+        for (CountdownTimer timer : passing) shownKeys.put(timer, keyOf(timer));
+        passing.sort((a, b) -> ORDER.compare(shownKeys.get(a), shownKeys.get(b)));
+        List<CountdownTimer> merged = new ArrayList<>(shown.size() + passing.size());
+        int i = 0, j = 0;
+        while (i < shown.size() && j < passing.size()) {
+            CountdownTimer a = shown.get(i), b = passing.get(j);
+            if (ORDER.compare(shownKeys.get(a), shownKeys.get(b)) <= 0) {
+                merged.add(a);
+                i++;
+            } else {
+                merged.add(b);
+                j++;
+            }
+        }
+        merged.addAll(shown.subList(i, shown.size()));
+        merged.addAll(passing.subList(j, passing.size()));
+        shown.setAll(merged);
+    }
+
+    void remove(CountdownTimer timer) {
+        manual.remove(timer.getOrderKey());
+        removeShown(timer);
+    }
+
+    /** Reposition a timer whose finished state, class or text changed */
+    void update(CountdownTimer timer) {
+        boolean passes = filter.test(timer);
+        SortKey old = shownKeys.get(timer);
+        if (old != null && passes && old.equals(keyOf(timer))) return;
+        removeShown(timer);
+        if (passes) insertShown(timer);
+    }
+
+    /**
+     * Re-sort the shown list by every timer's current key in one pass, e.g. after finished
+     * timers were left in place while the window was minimized. The filter is not re-tested.
+     */
+    void resort() {
+        for (CountdownTimer timer : shown) shownKeys.put(timer, keyOf(timer));
+        List<CountdownTimer> sorted = new ArrayList<>(shown);
+        sorted.sort((a, b) -> ORDER.compare(shownKeys.get(a), shownKeys.get(b)));
+        shown.setAll(sorted);
+    }
+
+    /** Move a timer in front of another in the manual order; a null target moves it to the end */
+    void moveBefore(CountdownTimer moved, CountdownTimer target) {
+        if (moved == target) return;
+        removeShown(moved);
+        manual.remove(moved.getOrderKey());
+        if (target == null) {
+            append(moved);
+        } else {
+            Long prev = manual.lowerKey(target.getOrderKey());
+            if (prev != null && target.getOrderKey() - prev < 2) {
+                renumber();
+                prev = manual.lowerKey(target.getOrderKey());
+            }
+            long key = prev == null ? target.getOrderKey() - STEP : prev + (target.getOrderKey() - prev) / 2;
+            moved.setOrderKey(key);
+            manual.put(key, moved);
+        }
+        if (filter.test(moved)) insertShown(moved);
+    }
+
+    /**
+     * Replace the filter; this is the only operation that rebuilds the shown list. If
+     * {@code candidates} is not null it holds exactly the timers passing the filter,
+     * evaluated elsewhere, and the filter is not tested again here.
+     */
+    void setFilter(Predicate<CountdownTimer> filter, Collection<CountdownTimer> candidates) {
+        this.filter = filter;
+        shownKeys.clear();
+        List<CountdownTimer> passing = new ArrayList<>();
+        for (CountdownTimer timer : candidates != null ? candidates : manual.values()) {
+            if (candidates != null ? manual.get(timer.getOrderKey()) != timer : !filter.test(timer)) continue;
+            shownKeys.put(timer, keyOf(timer));
+            passing.add(timer);
+        }
+        passing.sort((a, b) -> ORDER.compare(shownKeys.get(a), shownKeys.get(b)));
+        shown.setAll(passing);
+    }
+
+    private void append(CountdownTimer timer) {
+        long key = manual.isEmpty() ? 0 : manual.lastKey() + STEP;
+        timer.setOrderKey(key);
+        manual.put(key, timer);
+    }
+
+    /** Spread the keys out again once repeated moves have used up a gap; order is unchanged */
+    private void renumber() {
+        List<CountdownTimer> ordered = new ArrayList<>(manual.values());
+        manual.clear();
+        for (int i = 0; i < ordered.size(); i++) {
+            CountdownTimer timer = ordered.get(i);
+            timer.setOrderKey(i * STEP);
+            manual.put(timer.getOrderKey(), timer);
+        }
+        for (CountdownTimer timer : shown) shownKeys.put(timer, keyOf(timer));
+    }
+
+    private void insertShown(CountdownTimer timer) {
+        SortKey key = keyOf(timer);
+        int i = search(key);
+        shown.add(i < 0 ? -(i + 1) : i, timer);
+        shownKeys.put(timer, key);
+    }
+
+    private void removeShown(CountdownTimer timer) {
+        SortKey key = shownKeys.get(timer);
+        if (key == null) return;
+        int i = search(key);
+        if (i >= 0) shown.remove(i);
+        shownKeys.remove(timer);
+    }
+
+    /** Binary search by the keys the shown timers were inserted with */
+    private int search(SortKey key) {
+        int lo = 0, hi = shown.size() - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int cmp = ORDER.compare(shownKeys.get(shown.get(mid)), key);
+            if (cmp < 0) lo = mid + 1;
+            else if (cmp > 0) hi = mid - 1;
+            else return mid;
+        }
+        return -(lo + 1);
+    }
+
+    private static SortKey keyOf(CountdownTimer timer) {
+        String cn = timer.getClassName();
+        return new SortKey(timer.isFinished(), cn == null ? "" : cn, timer.getOrderKey());
+    }
+}